@@ -0,0 +1,59 @@
+#!/usr/bin/env python3
+"""Compares two JMH JSON result files (the -rf json output of the benchmark profile).
+
+    python3 perf/jmh/compare.py baseline.json candidate.json [--threshold 5]
+
+Prints one line per benchmark and parameter set with the change in score. A change counts as a
+regression only when it exceeds the threshold (percent) and the two 99.9% confidence intervals do
+not overlap. Exits with status 1 if there is any regression, so it can gate a CI step.
+"""
+import argparse
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        runs = json.load(f)
+    results = {}
+    for run in runs:
+        params = ",".join(f"{k}={v}" for k, v in sorted(run.get("params", {}).items()))
+        name = run["benchmark"].rsplit(".", 2)[-2:]
+        key = ".".join(name) + (f"[{params}]" if params else "")
+        metric = run["primaryMetric"]
+        results[key] = (run["mode"], metric["score"], metric["scoreConfidence"], metric["scoreUnit"])
+    return results
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("baseline")
+    parser.add_argument("candidate")
+    parser.add_argument("--threshold", type=float, default=5.0, help="percent change to flag (default 5)")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    candidate = load(args.candidate)
+    regressions = 0
+
+    for key in sorted(baseline.keys() | candidate.keys()):
+        if key not in baseline or key not in candidate:
+            print(f"{key:70} only in {'candidate' if key in candidate else 'baseline'}")
+            continue
+        mode, old, (old_lo, old_hi), unit = baseline[key]
+        _, new, (new_lo, new_hi), _ = candidate[key]
+        change = (new - old) / old * 100 if old else 0.0
+        # Throughput: higher is better; every other mode reports time, lower is better
+        worse = change < 0 if mode == "thrpt" else change > 0
+        overlap = new_lo <= old_hi and old_lo <= new_hi
+        flag = ""
+        if abs(change) >= args.threshold and not overlap:
+            flag = "REGRESSION" if worse else "improved"
+            regressions += worse
+        print(f"{key:70} {old:12.3f} -> {new:12.3f} {unit:10} {change:+7.1f}%  {flag}")
+
+    sys.exit(1 if regressions else 0)
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,73 @@
+-- Plan check for the filtered listings of GET /api/v1/todos at 1M todos (see seed_1m_todos.sql).
+--   psql -d todo_bench -f perf/sql/filter_plans.sql
+-- Each supported filter/sort combination must be served by its index from V6__todo_status_fields.sql;
+-- the script stops with an error naming the combination when the planner picks anything else.
+-- The statements mirror what TodoQueryRepositoryImpl sends (page size 20 plus the probe row).
+-- Target: under 2 ms execution for each first page.
+\set ON_ERROR_STOP on
+\timing on
+
+SELECT id AS bench_user FROM users WHERE username = 'bench4242' \gset
+
+CREATE FUNCTION pg_temp.expect_index(label text, query text, index_name text) RETURNS void
+LANGUAGE plpgsql AS $$
+DECLARE
+    plan text;
+BEGIN
+    EXECUTE 'EXPLAIN (FORMAT JSON) ' || query INTO plan;
+    IF plan NOT LIKE '%"Index Name": "' || index_name || '"%' THEN
+        RAISE EXCEPTION '% should use %, got: %', label, index_name, plan;
+    END IF;
+    RAISE NOTICE '% -> %', label, index_name;
+END
+$$;
+
+-- completed=false&dueFrom=..&dueTo=..&sort=dueDate ("my open todos due this week")
+SELECT pg_temp.expect_index('open, due this week, by due date', format($q$
+    SELECT t.id, t.title, t.description, u.id, u.username, t.version, t.completed, t.due_date, t.priority, t.created_at
+    FROM todos t JOIN users u ON u.id = t.user_id
+    WHERE t.user_id = %s AND t.completed = false AND t.due_date BETWEEN current_date AND current_date + 6
+    ORDER BY t.due_date, t.id LIMIT 21 $q$, :bench_user), 'idx_todos_open_due');
+
+-- completed=false&minPriority=HIGH&sort=priority,desc
+SELECT pg_temp.expect_index('open, high priority first', format($q$
+    SELECT t.id, t.title, t.description, u.id, u.username, t.version, t.completed, t.due_date, t.priority, t.created_at
+    FROM todos t JOIN users u ON u.id = t.user_id
+    WHERE t.user_id = %s AND t.completed = false AND t.priority >= 2
+    ORDER BY t.priority DESC, t.id DESC LIMIT 21 $q$, :bench_user), 'idx_todos_open_priority');
+
+-- completed=true (default id order)
+SELECT pg_temp.expect_index('done, newest first', format($q$
+    SELECT t.id, t.title, t.description, u.id, u.username, t.version, t.completed, t.due_date, t.priority, t.created_at
+    FROM todos t JOIN users u ON u.id = t.user_id
+    WHERE t.user_id = %s AND t.completed = true
+    ORDER BY t.id DESC LIMIT 21 $q$, :bench_user), 'idx_todos_done');
+
+-- dueTo=..&sort=dueDate (overdue or due soon, any status)
+SELECT pg_temp.expect_index('any status, due by next week', format($q$
+    SELECT t.id, t.title, t.description, u.id, u.username, t.version, t.completed, t.due_date, t.priority, t.created_at
+    FROM todos t JOIN users u ON u.id = t.user_id
+    WHERE t.user_id = %s AND t.due_date <= current_date + 7
+    ORDER BY t.due_date, t.id LIMIT 21 $q$, :bench_user), 'idx_todos_user_id_due');
+
+-- minPriority=URGENT (any status)
+SELECT pg_temp.expect_index('any status, urgent', format($q$
+    SELECT t.id, t.title, t.description, u.id, u.username, t.version, t.completed, t.due_date, t.priority, t.created_at
+    FROM todos t JOIN users u ON u.id = t.user_id
+    WHERE t.user_id = %s AND t.priority >= 3
+    ORDER BY t.priority DESC, t.id DESC LIMIT 21 $q$, :bench_user), 'idx_todos_user_id_priority');
+
+-- sort=createdAt,desc
+SELECT pg_temp.expect_index('any status, recently created', format($q$
+    SELECT t.id, t.title, t.description, u.id, u.username, t.version, t.completed, t.due_date, t.priority, t.created_at
+    FROM todos t JOIN users u ON u.id = t.user_id
+    WHERE t.user_id = %s
+    ORDER BY t.created_at DESC, t.id DESC LIMIT 21 $q$, :bench_user), 'idx_todos_user_id_created');
+
+-- Timings for the headline query
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.id, t.title, t.description, u.id, u.username, t.version, t.completed, t.due_date, t.priority, t.created_at
+FROM todos t JOIN users u ON u.id = t.user_id
+WHERE t.user_id = :bench_user AND t.completed = false AND t.due_date BETWEEN current_date AND current_date + 6
+ORDER BY t.due_date, t.id
+LIMIT 21;
@@ -0,0 +1,24 @@
+-- Plan and latency check for GET /api/v1/todos/search at 1M todos (see seed_1m_todos.sql).
+--   psql -d todo_bench -f perf/sql/search_benchmark.sql
+-- Expected plan: a Bitmap Index Scan on idx_todos_user_id_search for one user, no Seq Scan on
+-- todos. Target: under 10 ms execution for a first page of 20 hits.
+\set ON_ERROR_STOP on
+\timing on
+
+SELECT id AS bench_user FROM users WHERE username = 'bench4242' \gset
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.id, t.title, t.description, t.version, ts_rank(t.search_vector, q) AS score
+FROM todos t, websearch_to_tsquery('english', 'dentist') q
+WHERE t.user_id = :bench_user AND t.search_vector @@ q
+  AND (ts_rank(t.search_vector, q), t.id) < (cast('Infinity' AS real), 9223372036854775807)
+ORDER BY score DESC, t.id DESC
+LIMIT 21;
+
+-- Phrase and exclusion syntax go through the same index
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.id, ts_rank(t.search_vector, q) AS score
+FROM todos t, websearch_to_tsquery('english', '"renew passport" -holiday') q
+WHERE t.user_id = :bench_user AND t.search_vector @@ q
+ORDER BY score DESC, t.id DESC
+LIMIT 21;
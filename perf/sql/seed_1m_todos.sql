@@ -0,0 +1,35 @@
+-- Seeds 10,000 users with 100 todos each (1M rows) for the query benchmarks in this folder.
+-- Run against a scratch database that Flyway has migrated (start the app once against it):
+--   psql -d todo_bench -f perf/sql/seed_1m_todos.sql
+-- Titles and descriptions are drawn from a small vocabulary so that searches hit realistic
+-- fractions of a user's list; status, due date and priority are spread for filter_plans.sql. Takes a few minutes: the change-log trigger runs per row.
+\set ON_ERROR_STOP on
+
+INSERT INTO users (username, email, password, role)
+SELECT 'bench' || g, 'bench' || g || '@example.com', '{noop}bench', 'ROLE_USER'
+FROM generate_series(1, 10000) g
+ON CONFLICT DO NOTHING;
+
+WITH words AS (
+    SELECT ARRAY['milk', 'invoice', 'dentist', 'report', 'garden', 'flight', 'birthday', 'tax', 'meeting',
+                 'groceries', 'car', 'insurance', 'laundry', 'renew', 'passport', 'email', 'call', 'book',
+                 'review', 'budget', 'plumber', 'school', 'gym', 'pharmacy', 'rent', 'deploy', 'backup',
+                 'presentation', 'holiday', 'vet'] AS w
+)
+INSERT INTO todos (title, description, user_id, completed, due_date, priority, created_at)
+SELECT initcap(w[1 + (random() * 29)::int]) || ' ' || w[1 + (random() * 29)::int],
+       'Remember to ' || w[1 + (random() * 29)::int] || ' and ' || w[1 + (random() * 29)::int]
+           || ' before the ' || w[1 + (random() * 29)::int],
+       u.id,
+       -- about a third done, a quarter without a due date, due dates spread over +/- 90 days
+       random() < 0.35,
+       CASE WHEN random() < 0.25 THEN NULL ELSE current_date + (random() * 180)::int - 90 END,
+       (random() * 3)::int,
+       now() - random() * interval '365 days'
+FROM users u
+CROSS JOIN generate_series(1, 100)
+CROSS JOIN words
+WHERE u.username LIKE 'bench%';
+
+ANALYZE users;
+ANALYZE todos;
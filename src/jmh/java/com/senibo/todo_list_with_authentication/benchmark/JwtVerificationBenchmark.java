@@ -0,0 +1,60 @@
+package com.senibo.todo_list_with_authentication.benchmark;
+
+import com.senibo.todo_list_with_authentication.security.jwt.JwtClaims;
+import com.senibo.todo_list_with_authentication.security.jwt.JwtUtils;
+import com.senibo.todo_list_with_authentication.security.jwt.TokenVersionRegistry;
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request token check before and after {@link JwtUtils#verify}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "NwGXCb/+cjFEzBJGLvWmd/jB1FddhqwNaCzEaUMGbzU=";
+
+    private JwtUtils jwt;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwt = new JwtUtils(SECRET, 1_800_000L, new TokenVersionRegistry(), new SimpleMeterRegistry());
+        token = jwt.generate(new UserDetailsImpl(1L,
+                                                 "jane",
+                                                 "jane@example.com",
+                                                 null,
+                                                 List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    // The old filter path: isValid() then getUsername(), each decoding the key and building a parser
+    @Benchmark
+    public String legacyIsValidThenGetUsername() {
+        Jwts.parser().verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build().parseSignedClaims(token);
+        return Jwts.parser()
+                   .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                   .build()
+                   .parseSignedClaims(token)
+                   .getPayload()
+                   .getSubject();
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> verify() {
+        return jwt.verify(token);
+    }
+}
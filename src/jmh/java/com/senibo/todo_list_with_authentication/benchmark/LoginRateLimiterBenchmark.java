@@ -0,0 +1,68 @@
+package com.senibo.todo_list_with_authentication.benchmark;
+
+import com.senibo.todo_list_with_authentication.exception.TooManyRequestsException;
+import com.senibo.todo_list_with_authentication.security.ratelimit.LoginRateLimiter;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login limiter under a credential-stuffing pattern: every attempt a new identifier from one of
+ * many addresses (admitted), and a flood on one key (rejected). Run with {@code -prof gc}: the
+ * admitted path allocates nothing and the rejected one only its stack-less exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoginRateLimiterBenchmark {
+
+    private static final int KEYS = 1 << 21;
+
+    private LoginRateLimiter open;
+    private LoginRateLimiter strict;
+    private String[] identifiers;
+    private String[] addresses;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        var registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        // Limits high enough that the distinct-key run never rejects
+        open = new LoginRateLimiter(registry, true, 1 << 20, Integer.MAX_VALUE, 1_000_000,
+                                    Integer.MAX_VALUE, 1_000_000, 3, 1000, 900_000, 900_000);
+        strict = new LoginRateLimiter(registry, true, 1 << 20, 60, 1, 10, 1, 3, 1000, 900_000, 900_000);
+        identifiers = new String[KEYS];
+        addresses = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            identifiers[i] = "user" + i + "@example.com";
+            addresses[i] = "10." + (i >>> 16 & 255) + "." + (i >>> 8 & 255) + "." + (i & 255);
+        }
+        strict.check("victim", "192.0.2.1");
+    }
+
+    @Benchmark
+    public void distinctKeys(Cursor cursor) {
+        int i = cursor.next++ & (KEYS - 1);
+        open.check(identifiers[i], addresses[i]);
+    }
+
+    @Benchmark
+    public Object floodedKey() {
+        try {
+            strict.check("victim", "192.0.2.1");
+            return null;
+        } catch (TooManyRequestsException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.senibo.todo_list_with_authentication.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.senibo.todo_list_with_authentication.config.TimedJacksonHttpMessageConverter;
+import com.senibo.todo_list_with_authentication.dto.ApiResponse;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoResponse;
+import com.senibo.todo_list_with_authentication.model.Priority;
+import com.senibo.todo_list_with_authentication.security.jwt.JwtClaims;
+import com.senibo.todo_list_with_authentication.security.jwt.JwtUtils;
+import com.senibo.todo_list_with_authentication.security.jwt.TokenVersionRegistry;
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the hot-path timers: each instrumented call against the same call with no-op meters
+ * (a composite registry without children), plus the bare histogram record. The difference should
+ * stay within run-to-run noise of the instrumented operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private static final String SECRET = "NwGXCb/+cjFEzBJGLvWmd/jB1FddhqwNaCzEaUMGbzU=";
+
+    private JwtUtils plainJwt;
+    private JwtUtils timedJwt;
+    private String token;
+    private Timer timer;
+    private MappingJackson2HttpMessageConverter plainConverter;
+    private MappingJackson2HttpMessageConverter timedConverter;
+    private ApiResponse<TodoResponse> body;
+
+    @Setup
+    public void setUp() {
+        MeterRegistry noop = new CompositeMeterRegistry();
+        MeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+        plainJwt = new JwtUtils(SECRET, 1_800_000L, new TokenVersionRegistry(), noop);
+        timedJwt = new JwtUtils(SECRET, 1_800_000L, new TokenVersionRegistry(), prometheus);
+        token = plainJwt.generate(new UserDetailsImpl(1L,
+                                                      "jane",
+                                                      "jane@example.com",
+                                                      null,
+                                                      List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        timer = Timer.builder("bench.timer")
+                     .publishPercentileHistogram()
+                     .minimumExpectedValue(Duration.ofNanos(1_000))
+                     .maximumExpectedValue(Duration.ofMillis(100))
+                     .register(prometheus);
+
+        ObjectMapper mapper = JsonMapper.builder()
+                                        .findAndAddModules()
+                                        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                                        .build();
+        plainConverter = new MappingJackson2HttpMessageConverter(mapper);
+        timedConverter = new TimedJacksonHttpMessageConverter(mapper, prometheus);
+        body = ApiResponse.success("Todo retrieved successfully",
+                                   new TodoResponse(10L,
+                                                    "Buy milk",
+                                                    "2 liters",
+                                                    1L,
+                                                    "jane",
+                                                    3L,
+                                                    false,
+                                                    LocalDate.of(2025, 6, 30),
+                                                    Priority.HIGH,
+                                                    Instant.parse("2025-06-01T09:30:00Z")));
+    }
+
+    @Benchmark
+    public void timerRecord() {
+        timer.record(1_500, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> verifyNoopMeters() {
+        return plainJwt.verify(token);
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> verifyTimed() {
+        return timedJwt.verify(token);
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage writeJsonPlain() throws IOException {
+        var out = new MockHttpOutputMessage();
+        plainConverter.write(body, MediaType.APPLICATION_JSON, out);
+        return out;
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage writeJsonTimed() throws IOException {
+        var out = new MockHttpOutputMessage();
+        timedConverter.write(body, MediaType.APPLICATION_JSON, out);
+        return out;
+    }
+}
@@ -0,0 +1,71 @@
+package com.senibo.todo_list_with_authentication.benchmark;
+
+import com.senibo.todo_list_with_authentication.model.Role;
+import com.senibo.todo_list_with_authentication.model.User;
+import com.senibo.todo_list_with_authentication.security.jwt.JwtUtils;
+import com.senibo.todo_list_with_authentication.security.jwt.TokenVersionRegistry;
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request security work: issuing a token at login, checking one on an authenticated
+ * call, and building the principal from a loaded user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityHotPathBenchmark {
+
+    private static final String SECRET = "NwGXCb/+cjFEzBJGLvWmd/jB1FddhqwNaCzEaUMGbzU=";
+
+    private JwtUtils jwt;
+    private User user;
+    private UserDetailsImpl principal;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        // Same registry type as production, so the timers cost what they cost there
+        jwt = new JwtUtils(SECRET, 1_800_000L, new TokenVersionRegistry(), new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+        user = User.builder()
+                   .id(1L)
+                   .username("jane")
+                   .email("jane@example.com")
+                   .password("secret")
+                   .role(Role.ROLE_USER)
+                   .build();
+        principal = UserDetailsImpl.from(user);
+        token = jwt.generate(principal);
+        // Flip one signature character: parsed and verified in full, then rejected
+        char last = token.charAt(token.length() - 1);
+        tamperedToken = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwt.generate(principal);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return jwt.isValid(token);
+    }
+
+    @Benchmark
+    public boolean isValidBadSignature() {
+        return jwt.isValid(tamperedToken);
+    }
+
+    @Benchmark
+    public UserDetailsImpl userDetailsFrom() {
+        return UserDetailsImpl.from(user);
+    }
+}
@@ -0,0 +1,104 @@
+package com.senibo.todo_list_with_authentication.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.senibo.todo_list_with_authentication.dto.ApiResponse;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoMapper;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoResponse;
+import com.senibo.todo_list_with_authentication.model.Priority;
+import com.senibo.todo_list_with_authentication.model.Role;
+import com.senibo.todo_list_with_authentication.model.Todo;
+import com.senibo.todo_list_with_authentication.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response building: entity to DTO mapping and the JSON bodies of the single-todo and
+ * list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private Todo todo;
+    private ApiResponse<TodoResponse> single;
+    private List<TodoResponse> page;
+
+    @Setup
+    public void setUp() {
+        // Configured like Boot's auto-configured mapper
+        mapper = JsonMapper.builder()
+                           .findAndAddModules()
+                           .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                           .build();
+
+        User owner = User.builder().id(1L).username("jane").email("jane@example.com").role(Role.ROLE_USER).build();
+        todo = Todo.builder()
+                   .id(10L)
+                   .title("Buy milk")
+                   .description("2 liters, semi-skimmed")
+                   .user(owner)
+                   .version(3L)
+                   .dueDate(LocalDate.of(2025, 6, 30))
+                   .priority(Priority.HIGH)
+                   .createdAt(Instant.parse("2025-06-01T09:30:00Z"))
+                   .build();
+        single = ApiResponse.success("Todo retrieved successfully", TodoMapper.toResponse(todo));
+
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            todo.setId(10L + i);
+            page.add(TodoMapper.toResponse(todo));
+        }
+    }
+
+    @Benchmark
+    public TodoResponse mapEntity() {
+        return TodoMapper.toResponse(todo);
+    }
+
+    @Benchmark
+    public TodoResponse mapEntityKnownOwner() {
+        return TodoMapper.toResponse(todo, 1L, "jane");
+    }
+
+    @Benchmark
+    public byte[] writeSingle() throws Exception {
+        return mapper.writeValueAsBytes(single);
+    }
+
+    // Same shape as the body TodoController.getTodos builds in page mode
+    @Benchmark
+    public byte[] writePage() throws Exception {
+        Map<String, Object> body = Map.of("content",
+                                          page,
+                                          "page",
+                                          0,
+                                          "size",
+                                          pageSize,
+                                          "total",
+                                          1000L,
+                                          "totalPages",
+                                          1000 / pageSize,
+                                          "hasNext",
+                                          true,
+                                          "hasPrevious",
+                                          false);
+        return mapper.writeValueAsBytes(ApiResponse.success("Todos retrieved successfully", body));
+    }
+}
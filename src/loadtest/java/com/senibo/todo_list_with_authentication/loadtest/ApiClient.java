@@ -0,0 +1,58 @@
+package com.senibo.todo_list_with_authentication.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Thin JSON client over the JDK HttpClient; requests run on virtual threads.
+ */
+final class ApiClient {
+
+    record Response(int status, JsonNode body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final URI base;
+    private final ObjectMapper json;
+
+    ApiClient(URI base, ObjectMapper json) {
+        this.base = base;
+        this.json = json;
+        this.http = HttpClient.newBuilder()
+                              .version(HttpClient.Version.HTTP_1_1)
+                              .connectTimeout(Duration.ofSeconds(5))
+                              .executor(Executors.newVirtualThreadPerTaskExecutor())
+                              .build();
+    }
+
+    Response send(String method, String path, String token, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(base.resolve(path)).timeout(TIMEOUT);
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                   .method(method, HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)));
+        }
+
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        byte[] bytes = response.body();
+        JsonNode node = bytes.length == 0 ? null : json.readTree(bytes);
+        return new Response(response.statusCode(), node);
+    }
+}
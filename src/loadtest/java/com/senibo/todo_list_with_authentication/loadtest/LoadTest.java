@@ -0,0 +1,269 @@
+package com.senibo.todo_list_with_authentication.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senibo.todo_list_with_authentication.TodoListWithAuthenticationApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test: boots the application in this JVM against an embedded Postgres (or the
+ * database given by {@code -Dloadtest.jdbcUrl}), then drives it over HTTP in phases:
+ * <ol>
+ *     <li>signup burst of all virtual users</li>
+ *     <li>login of all virtual users</li>
+ *     <li>statement profile: each call type alone, single-threaded, to count SQL statements per call</li>
+ *     <li>mixed traffic for the configured duration after a warmup</li>
+ * </ol>
+ * Prints throughput, p50/p99/p99.9 latency and statements per request for each phase and writes
+ * the same numbers as JSON. Statements are counted by the database ({@link ServerStatements}), so an
+ * external database needs {@code pg_stat_statements} in its {@code shared_preload_libraries}. The traffic phases are closed-loop (each worker waits for its response),
+ * so latencies are not corrected for coordinated omission; compare runs on the same machine and settings.
+ * <p>
+ * {@code -Dloadtest.virtualThreads=true} serves requests on virtual threads instead of Tomcat's
+ * platform-thread pool; with a {@code -Dloadtest.concurrency} well above that pool's 200 threads the
+ * two modes can be compared under many concurrent connections. Signup, login and seeding run with at
+ * most {@code -Dloadtest.setupConcurrency} requests in flight (default 64), so every user is set up
+ * before the mixed phase applies the full concurrency.
+ */
+public final class LoadTest {
+
+    private static final int PROFILE_CALLS = 50;
+    private static final int SEED_TODOS = 20;
+
+    // Weights of the mixed phase
+    private static final Map<Op, Integer> MIX = new EnumMap<>(Map.of(Op.LIST, 35,
+                                                                    Op.LIST_OPEN_BY_DUE, 10,
+                                                                    Op.GET, 15,
+                                                                    Op.CREATE, 15,
+                                                                    Op.UPDATE, 8,
+                                                                    Op.PATCH, 7,
+                                                                    Op.DELETE, 5,
+                                                                    Op.LOGIN, 5));
+
+    private final int userCount = Integer.getInteger("loadtest.users", 200);
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+    // Signup, login and seeding: every user must get through them, so they are not part of the overload
+    private final int setupConcurrency = Math.min(concurrency, Integer.getInteger("loadtest.setupConcurrency", 64));
+    private final Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmupSeconds", 15));
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 60));
+    // Request execution mode of the application under test, and its optional DB admission limit
+    private final boolean virtualThreads = Boolean.getBoolean("loadtest.virtualThreads");
+    private final int dbMaxConcurrency = Integer.getInteger("loadtest.dbMaxConcurrency", 0);
+    // Extra application arguments, space separated, e.g. "--spring.app.bcryptStrength=6"
+    private final List<String> appArgs = Arrays.stream(System.getProperty("loadtest.appArgs", "").trim().split("\\s+"))
+                                               .filter(arg -> !arg.isEmpty())
+                                               .toList();
+    // Blank (the Maven profile's default) means embedded
+    private final String jdbcUrl = System.getProperty("loadtest.jdbcUrl", "").isBlank()
+            ? null
+            : System.getProperty("loadtest.jdbcUrl");
+    private final File reportFile = new File(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+
+    private final Stats stats = new Stats();
+    private final Map<String, Object> report = new LinkedHashMap<>();
+    private ServerStatements statements;
+
+    public static void main(String[] args) throws Exception {
+        // Devtools would restart the application (and this class) in a new class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        new LoadTest().run();
+        // The HTTP client and the application leave non-daemon threads behind
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        EmbeddedPostgres embedded = null;
+        String url = jdbcUrl;
+        if (url == null) {
+            embedded = EmbeddedPostgres.builder()
+                                       .setServerConfig("max_connections", "200")
+                                       .setServerConfig("shared_preload_libraries", ServerStatements.PRELOAD)
+                                       .setServerConfig("pg_stat_statements.track", ServerStatements.TRACK)
+                                       .setServerConfig("pg_stat_statements.track_utility", ServerStatements.TRACK_UTILITY)
+                                       .setServerConfig("pg_stat_statements.max", ServerStatements.MAX)
+                                       .start();
+            url = embedded.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true";
+        }
+
+        try (ConfigurableApplicationContext app = startApplication(url);
+             ServerStatements counter = ServerStatements.connect(url)) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            statements = counter;
+
+            ObjectMapper json = new ObjectMapper();
+            var workload = new Workload(new ApiClient(URI.create("http://localhost:" + port), json), stats, MIX);
+            var users = Workload.users("lt" + Long.toString(System.currentTimeMillis(), 36) + "_", userCount);
+
+            report.put("settings", Map.of("users", userCount,
+                                          "concurrency", concurrency,
+                                          "setupConcurrency", setupConcurrency,
+                                          "warmupSeconds", warmup.toSeconds(),
+                                          "durationSeconds", duration.toSeconds(),
+                                          "virtualThreads", virtualThreads,
+                                          "dbMaxConcurrency", dbMaxConcurrency,
+                                          "appArgs", appArgs,
+                                          "database", jdbcUrl == null ? "embedded" : "external",
+                                          "availableProcessors", Runtime.getRuntime().availableProcessors()));
+
+            phase("signup", () -> forEachUser(users, Op.SIGNUP, workload));
+            phase("login", () -> forEachUser(users, Op.LOGIN, workload));
+
+            // Seed every user's list so reads and updates have something to work on
+            for (int i = 0; i < SEED_TODOS; i++) {
+                forEachUser(users, Op.CREATE, workload);
+            }
+            stats.snapshot();
+            stats.errorsByStatus();
+
+            statementProfile(users, workload);
+
+            mixed(users, workload, warmup);
+            stats.snapshot();
+            stats.errorsByStatus();
+            phase("mixed", () -> mixed(users, workload, duration));
+
+            if (reportFile.getParentFile() != null) {
+                reportFile.getParentFile().mkdirs();
+            }
+            json.writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+            System.out.println("Report written to " + reportFile.getAbsolutePath());
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication(String url) {
+        // Command-line arguments, so they win over application.properties
+        List<String> args = new ArrayList<>(List.of("--server.port=0",
+                                                    "--spring.datasource.url=" + url,
+                                                    "--spring.datasource.username=postgres",
+                                                    "--spring.datasource.password=",
+                                                    "--spring.jpa.show-sql=false",
+                                                    "--logging.level.root=WARN",
+                                                    "--logging.level.org.springframework.security=WARN",
+                                                    "--spring.main.banner-mode=off",
+                                                    "--spring.threads.virtual.enabled=" + virtualThreads,
+                                                    "--spring.app.dbMaxConcurrency=" + dbMaxConcurrency,
+                                                    // Every virtual user logs in from 127.0.0.1, and re-logins are part of the mix
+                                                    "--spring.app.loginLimiterEnabled=false"));
+        args.addAll(appArgs);
+        return SpringApplication.run(TodoListWithAuthenticationApplication.class, args.toArray(String[]::new));
+    }
+
+    private interface Body {
+        void run() throws Exception;
+    }
+
+    private void phase(String name, Body body) throws Exception {
+        long statementsBefore = statements.total();
+        long start = System.nanoTime();
+        body.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long executed = statements.total() - statementsBefore;
+
+        Map<Op, Stats.OpResult> ops = stats.snapshot();
+        long requests = ops.values().stream().mapToLong(Stats.OpResult::count).sum();
+
+        System.out.printf("%n== %s: %d requests in %.1f s, %.0f req/s, %.2f statements/request%n",
+                          name, requests, seconds, requests / seconds, (double) executed / Math.max(1, requests));
+        System.out.printf("%-18s %9s %7s %9s %9s %9s %9s%n", "op", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        ops.forEach((op, r) -> System.out.printf("%-18s %9d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                                                 op, r.count(), r.errors(), r.p50Ms(), r.p99Ms(), r.p999Ms(), r.maxMs()));
+        Map<String, Long> errors = stats.errorsByStatus();
+        if (!errors.isEmpty()) {
+            System.out.println("errors by status: " + errors);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("seconds", seconds);
+        result.put("requests", requests);
+        result.put("throughput", requests / seconds);
+        result.put("statementsPerRequest", (double) executed / Math.max(1, requests));
+        result.put("ops", ops);
+        result.put("errorsByStatus", errors);
+        report.put(name, result);
+    }
+
+    // Every user runs op once, at most `setupConcurrency` in flight
+    private void forEachUser(List<Workload.VirtualUser> users, Op op, Workload workload) throws Exception {
+        Semaphore inFlight = new Semaphore(setupConcurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var user : users) {
+                inFlight.acquire();
+                executor.submit(() -> {
+                    try {
+                        workload.run(op, user);
+                    } finally {
+                        inFlight.release();
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    // Closed loop: `concurrency` workers each pick a random user and call until the time is up
+    private void mixed(List<Workload.VirtualUser> users, Workload workload, Duration length) throws Exception {
+        long deadline = System.nanoTime() + length.toNanos();
+        AtomicLong failures = new AtomicLong();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        var user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+                        try {
+                            workload.run(workload.nextOp(), user);
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+        if (failures.get() > 0) {
+            System.out.println(failures.get() + " calls failed without a response");
+        }
+    }
+
+    // One call type at a time, single-threaded, so the statement counter belongs to that call alone
+    private void statementProfile(List<Workload.VirtualUser> users, Workload workload) throws Exception {
+        var user = users.get(0);
+        Map<String, Double> perCall = new LinkedHashMap<>();
+        // Refresh is profiled here only: in the mixed phase two workers can share a user, and a
+        // refresh token presented twice counts as reuse and ends the session
+        List<Op> ops = new ArrayList<>(List.of(Op.LOGIN, Op.REFRESH, Op.LIST, Op.LIST_OPEN_BY_DUE, Op.GET, Op.CREATE,
+                                               Op.UPDATE, Op.PATCH, Op.DELETE));
+        System.out.printf("%n== statement profile (%d calls each)%n", PROFILE_CALLS);
+        for (Op op : ops) {
+            long before = statements.total();
+            for (int i = 0; i < PROFILE_CALLS; i++) {
+                workload.run(op, user);
+            }
+            double perOp = (double) (statements.total() - before) / PROFILE_CALLS;
+            perCall.put(op.name(), perOp);
+            System.out.printf("%-18s %6.2f statements/call%n", op, perOp);
+        }
+        stats.snapshot();
+        stats.errorsByStatus();
+        report.put("statementsPerCall", perCall);
+    }
+}
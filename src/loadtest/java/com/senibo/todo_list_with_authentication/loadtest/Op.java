@@ -0,0 +1,17 @@
+package com.senibo.todo_list_with_authentication.loadtest;
+
+/**
+ * One kind of API call the load test makes; latencies and errors are reported per kind.
+ */
+enum Op {
+    SIGNUP,
+    LOGIN,
+    REFRESH,
+    LIST,
+    LIST_OPEN_BY_DUE,
+    GET,
+    CREATE,
+    UPDATE,
+    PATCH,
+    DELETE
+}
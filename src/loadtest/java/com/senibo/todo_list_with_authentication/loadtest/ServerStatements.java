@@ -0,0 +1,73 @@
+package com.senibo.todo_list_with_authentication.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Statements as the database counts them, from {@code pg_stat_statements}: Hibernate's statistics
+ * only see what goes through a Hibernate session, not JdbcTemplate or the statements run by triggers.
+ * With {@code pg_stat_statements.track = all} nested statements count, each executed statement once.
+ * Read before and after a phase on a connection of its own; the difference belongs to that phase.
+ */
+final class ServerStatements implements AutoCloseable {
+
+    // Settings for a server started by the load test; an external one must load the module itself
+    static final String PRELOAD = "pg_stat_statements";
+    static final String TRACK = "all";
+    // Transaction control and DDL are not statements in the sense of the report
+    static final String TRACK_UTILITY = "off";
+    // Well above the distinct statements of the application, so none is evicted during a run
+    static final String MAX = "10000";
+
+    // The reader's own queries are the only ones touching the view
+    private static final String TOTAL = """
+            select coalesce(sum(s.calls), 0),
+                   (select dealloc from pg_stat_statements_info)
+              from pg_stat_statements s
+             where s.dbid = (select oid from pg_database where datname = current_database())
+               and s.query not like '%pg_stat_statements%'""";
+
+    private final Connection connection;
+    private long deallocations = -1;
+
+    private ServerStatements(Connection connection) {
+        this.connection = connection;
+    }
+
+    static ServerStatements connect(String jdbcUrl) throws SQLException {
+        Connection connection = DriverManager.getConnection(jdbcUrl);
+        try (Statement s = connection.createStatement()) {
+            s.execute("create extension if not exists pg_stat_statements");
+            s.executeQuery("select 1 from pg_stat_statements limit 1").close();
+        } catch (SQLException e) {
+            connection.close();
+            throw new IllegalStateException("Statement counts need pg_stat_statements: add it to " +
+                                            "shared_preload_libraries of the database server", e);
+        }
+        return new ServerStatements(connection);
+    }
+
+    /**
+     * Statements executed in this database so far. Fails if entries were evicted since the
+     * previous call, because the difference between two readings would then be too low.
+     */
+    long total() throws SQLException {
+        try (Statement s = connection.createStatement(); ResultSet rs = s.executeQuery(TOTAL)) {
+            rs.next();
+            long evicted = rs.getLong(2);
+            if (deallocations >= 0 && evicted != deallocations) {
+                throw new IllegalStateException("pg_stat_statements evicted entries; raise pg_stat_statements.max");
+            }
+            deallocations = evicted;
+            return rs.getLong(1);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        connection.close();
+    }
+}
@@ -0,0 +1,61 @@
+package com.senibo.todo_list_with_authentication.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency (microseconds, HdrHistogram) and error counts. Recording is lock-free;
+ * {@link #snapshot()} hands back everything recorded since the previous snapshot.
+ */
+final class Stats {
+
+    record OpResult(long count, long errors, double p50Ms, double p99Ms, double p999Ms, double maxMs) {}
+
+    private final Map<Op, Recorder> latencies = new EnumMap<>(Op.class);
+    private final Map<Op, LongAdder> errors = new EnumMap<>(Op.class);
+    private final Map<String, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+
+    Stats() {
+        for (Op op : Op.values()) {
+            latencies.put(op, new Recorder(3));
+            errors.put(op, new LongAdder());
+        }
+    }
+
+    void record(Op op, long nanos, int status) {
+        latencies.get(op).recordValue(Math.max(1, nanos / 1_000));
+        if (status < 200 || status >= 300) {
+            errors.get(op).increment();
+            errorsByStatus.computeIfAbsent(op + " " + status, k -> new LongAdder()).increment();
+        }
+    }
+
+    Map<Op, OpResult> snapshot() {
+        Map<Op, OpResult> results = new EnumMap<>(Op.class);
+        for (Op op : Op.values()) {
+            Histogram h = latencies.get(op).getIntervalHistogram();
+            long failed = errors.get(op).sumThenReset();
+            if (h.getTotalCount() == 0) continue;
+            results.put(op, new OpResult(h.getTotalCount(),
+                                         failed,
+                                         h.getValueAtPercentile(50) / 1000.0,
+                                         h.getValueAtPercentile(99) / 1000.0,
+                                         h.getValueAtPercentile(99.9) / 1000.0,
+                                         h.getMaxValue() / 1000.0));
+        }
+        return results;
+    }
+
+    Map<String, Long> errorsByStatus() {
+        Map<String, Long> counts = new TreeMap<>();
+        errorsByStatus.forEach((k, v) -> counts.put(k, v.sumThenReset()));
+        counts.values().removeIf(v -> v == 0);
+        return counts;
+    }
+}
@@ -0,0 +1,120 @@
+package com.senibo.todo_list_with_authentication.loadtest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The calls a simulated user makes, each timed end to end (request written to response read).
+ */
+final class Workload {
+
+    private static final String PASSWORD = "L0ad@Test";
+    private static final String[] PRIORITIES = {"LOW", "NORMAL", "HIGH", "URGENT"};
+
+    static final class VirtualUser {
+        final String username;
+        // Ids of this user's todos the test knows about; deletes take them out first
+        final Deque<Long> todoIds = new ConcurrentLinkedDeque<>();
+        volatile String token;
+        volatile String refreshToken;
+
+        VirtualUser(String username) {
+            this.username = username;
+        }
+    }
+
+    private final ApiClient api;
+    private final Stats stats;
+    private final Map<Op, Integer> mix;
+    private final int mixTotal;
+
+    Workload(ApiClient api, Stats stats, Map<Op, Integer> mix) {
+        this.api = api;
+        this.stats = stats;
+        this.mix = mix;
+        this.mixTotal = mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    static List<VirtualUser> users(String prefix, int count) {
+        List<VirtualUser> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(new VirtualUser(prefix + i));
+        }
+        return users;
+    }
+
+    Op nextOp() {
+        int pick = ThreadLocalRandom.current().nextInt(mixTotal);
+        for (var entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) return entry.getKey();
+        }
+        throw new IllegalStateException("empty mix");
+    }
+
+    void run(Op op, VirtualUser user) throws Exception {
+        // Calls that need an existing todo create one instead when the user has none left
+        Long id = switch (op) {
+            case GET, UPDATE, PATCH -> user.todoIds.peekLast();
+            case DELETE -> user.todoIds.pollFirst();
+            default -> null;
+        };
+        if (id == null && (op == Op.GET || op == Op.UPDATE || op == Op.PATCH || op == Op.DELETE)) {
+            op = Op.CREATE;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long start = System.nanoTime();
+        ApiClient.Response response = switch (op) {
+            case SIGNUP -> api.send("POST", "/api/v1/auth/signup", null,
+                                    Map.of("username", user.username,
+                                           "email", user.username + "@example.com",
+                                           "password", PASSWORD));
+            case LOGIN -> api.send("POST", "/api/v1/auth/login", null,
+                                   Map.of("identifier", user.username, "password", PASSWORD));
+            case REFRESH -> api.send("POST", "/api/v1/auth/refresh", null, Map.of("refreshToken", user.refreshToken));
+            case LIST -> api.send("GET", "/api/v1/todos?page=0&size=10", user.token, null);
+            case LIST_OPEN_BY_DUE -> api.send("GET",
+                                              "/api/v1/todos?completed=false&dueFrom=" + LocalDate.now()
+                                                      + "&dueTo=" + LocalDate.now().plusDays(7)
+                                                      + "&sort=dueDate,asc&size=20",
+                                              user.token,
+                                              null);
+            case GET -> api.send("GET", "/api/v1/todos/" + id, user.token, null);
+            case CREATE -> api.send("POST", "/api/v1/todos", user.token, newTodo(random));
+            case UPDATE -> api.send("PUT", "/api/v1/todos/" + id, user.token,
+                                    Map.of("title", "Updated " + random.nextInt(1000),
+                                           "description", "Changed by the load test"));
+            case PATCH -> api.send("PATCH", "/api/v1/todos/" + id, user.token,
+                                   Map.of("completed", random.nextBoolean()));
+            case DELETE -> api.send("DELETE", "/api/v1/todos/" + id, user.token, null);
+        };
+        stats.record(op, System.nanoTime() - start, response.status());
+
+        if (response.ok()) {
+            if (op == Op.LOGIN || op == Op.REFRESH) {
+                user.token = response.body().path("data").path("token").asText();
+                user.refreshToken = response.body().path("data").path("refreshToken").asText();
+            } else if (op == Op.CREATE) {
+                user.todoIds.addLast(response.body().path("data").path("id").asLong());
+            }
+        }
+    }
+
+    private static Map<String, Object> newTodo(ThreadLocalRandom random) {
+        Map<String, Object> todo = new LinkedHashMap<>();
+        todo.put("title", "Load test " + random.nextInt(100_000));
+        todo.put("description", "Created by the load test");
+        if (random.nextInt(4) > 0) {
+            todo.put("dueDate", LocalDate.now().plusDays(random.nextInt(-10, 30)).toString());
+        }
+        todo.put("priority", PRIORITIES[random.nextInt(PRIORITIES.length)]);
+        return todo;
+    }
+}
@@ -0,0 +1,36 @@
+package com.senibo.todo_list_with_authentication.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+
+    // Static so the post-processor is registered before the DataSource bean is created
+    @Bean
+    static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment env) {
+        int maxConcurrency = env.getProperty("spring.app.dbMaxConcurrency", Integer.class, 0);
+        long acquireTimeoutMs = env.getProperty("spring.app.dbAcquireTimeoutMs", Long.class, 2000L);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (maxConcurrency > 0 && bean instanceof DataSource ds && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    // At or above the pool size every permit holder could still wait in Hikari
+                    if (ds instanceof HikariDataSource hikari && maxConcurrency >= hikari.getMaximumPoolSize()) {
+                        throw new IllegalArgumentException("spring.app.dbMaxConcurrency (" + maxConcurrency +
+                                ") must be below spring.datasource.hikari.maximum-pool-size (" +
+                                hikari.getMaximumPoolSize() + ")");
+                    }
+                    return new ConcurrencyLimitedDataSource(ds, maxConcurrency, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.senibo.todo_list_with_authentication.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+@Configuration
+public class MetricsConfig {
+
+    // Replaces Boot's default JSON converter (it backs off when one is defined) with the timed one
+    @Bean
+    MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                            MeterRegistry registry) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, registry);
+    }
+}
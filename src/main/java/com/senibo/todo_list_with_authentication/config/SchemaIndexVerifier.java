@@ -0,0 +1,92 @@
+package com.senibo.todo_list_with_authentication.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Checks at startup that the indexes the hot queries rely on exist.
+ * {@code spring.app.schemaIndexCheck}: {@code fail} aborts startup, {@code warn} logs, {@code off} skips.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaIndexVerifier implements ApplicationRunner {
+
+    record ExpectedIndex(String table, List<String> columns, boolean unique) {
+        @Override
+        public String toString() {
+            return table + "(" + String.join(", ", columns) + ")" + (unique ? " unique" : "");
+        }
+    }
+
+    static final List<ExpectedIndex> EXPECTED = List.of(
+            new ExpectedIndex("todos", List.of("user_id", "id"), false),
+            new ExpectedIndex("users", List.of("username"), true),
+            new ExpectedIndex("users", List.of("email"), true),
+            new ExpectedIndex("refresh_tokens", List.of("token_hash"), true)
+    );
+
+    private final DataSource dataSource;
+
+    @Value("${spring.app.schemaIndexCheck:warn}")
+    private String mode;
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        if ("off".equalsIgnoreCase(mode)) return;
+
+        List<ExpectedIndex> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData md = connection.getMetaData();
+            for (ExpectedIndex expected : EXPECTED) {
+                if (!isPresent(md, connection.getSchema(), expected)) {
+                    missing.add(expected);
+                }
+            }
+        }
+
+        if (missing.isEmpty()) {
+            log.debug("All expected indexes present");
+        } else if ("fail".equalsIgnoreCase(mode)) {
+            throw new IllegalStateException("Missing database indexes: " + missing);
+        } else {
+            log.warn("Missing database indexes, listing queries will be slow: {}", missing);
+        }
+    }
+
+    // An index counts if its leading columns match, so a wider composite index also satisfies the check
+    private boolean isPresent(DatabaseMetaData md, String schema, ExpectedIndex expected) throws SQLException {
+        Map<String, SortedMap<Short, String>> columnsByIndex = new HashMap<>();
+        Map<String, Boolean> uniqueByIndex = new HashMap<>();
+
+        try (ResultSet rs = md.getIndexInfo(null, schema, expected.table(), false, true)) {
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (name == null || column == null) continue; // table statistics row
+
+                columnsByIndex.computeIfAbsent(name, n -> new TreeMap<>())
+                              .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                uniqueByIndex.put(name, !rs.getBoolean("NON_UNIQUE"));
+            }
+        }
+
+        return columnsByIndex.entrySet().stream().anyMatch(e -> {
+            List<String> columns = new ArrayList<>(e.getValue().values());
+            boolean prefixMatches = columns.size() >= expected.columns().size()
+                    && columns.subList(0, expected.columns().size()).equals(expected.columns());
+            return prefixMatches && (!expected.unique() || uniqueByIndex.get(e.getKey()));
+        });
+    }
+}
@@ -2,6 +2,7 @@ package com.senibo.todo_list_with_authentication.controller;
 
 import com.senibo.todo_list_with_authentication.dto.ApiResponse;
 import com.senibo.todo_list_with_authentication.dto.auth.AuthResponse;
+import com.senibo.todo_list_with_authentication.dto.auth.RefreshRequest;
 import com.senibo.todo_list_with_authentication.dto.auth.SigninRequest;
 import com.senibo.todo_list_with_authentication.dto.auth.SignupRequest;
 import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
@@ -11,6 +12,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -66,7 +68,7 @@ public class AuthController {
                              .body(ApiResponse.success("User created successfully", null));
     }
 
-    @Operation(summary = "Login", description = "Authenticate and receive a JWT.")
+    @Operation(summary = "Login", description = "Authenticate and receive a JWT and a refresh token.")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Login successful",
                     content = @Content(mediaType = "application/json",
@@ -77,6 +79,7 @@ public class AuthController {
               "message": "Login successful",
               "data": {
                 "token": "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...",
+                "refreshToken": "q3N0aYJ1m7VZ2f9kR8xW4cLpT6eHsDuB1oGiKjMnQzE",
                 "username": "jane",
                 "roles": ["ROLE_USER"]
               },
@@ -95,15 +98,56 @@ public class AuthController {
               "error": "Invalid credentials",
               "errors": null
             }
-            """)))
+            """))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Too many attempts; see Retry-After",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)))
     })
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody SigninRequest req) {
-        AuthResponse res = authService.login(req);
+    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody SigninRequest req,
+                                                           HttpServletRequest request) {
+        // The peer address; behind a proxy set server.forward-headers-strategy so this is the client
+        AuthResponse res = authService.login(req, request.getRemoteAddr());
 
         return ResponseEntity.ok(ApiResponse.success("Login successful", res));
     }
 
+    @Operation(summary = "Refresh", description = "Exchange a refresh token for a new JWT and a new refresh token. " +
+            "Each refresh token works once; presenting a used one again ends its session.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Tokens renewed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unknown, expired or reused refresh token",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)))
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<AuthResponse>> refresh(@Valid @RequestBody RefreshRequest req) {
+        AuthResponse res = authService.refresh(req);
+
+        return ResponseEntity.ok(ApiResponse.success("Token refreshed", res));
+    }
+
+    @Operation(summary = "Logout", description = "Revoke every access token and refresh token issued to the current user.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "204", description = "Tokens revoked"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Missing/invalid token",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)))
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<?>> logout(@AuthenticationPrincipal UserDetailsImpl me) {
+
+        if(me == null) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("bearer token is required")
+            );
+        }
+        authService.logout(me);
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(summary = "Me", description = "Get the current user's profile (requires Bearer token).")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Profile retrieved",
@@ -1,26 +1,57 @@
 package com.senibo.todo_list_with_authentication.controller;
 
 import com.senibo.todo_list_with_authentication.dto.ApiResponse;
+import com.senibo.todo_list_with_authentication.dto.todo.BatchCreateTodoRequest;
+import com.senibo.todo_list_with_authentication.dto.todo.BatchDeleteTodoRequest;
+import com.senibo.todo_list_with_authentication.dto.todo.BatchUpdateTodoRequest;
 import com.senibo.todo_list_with_authentication.dto.todo.CreateTodoRequest;
-import com.senibo.todo_list_with_authentication.dto.todo.TodoMapper;
+import com.senibo.todo_list_with_authentication.dto.todo.PatchTodoRequest;
+import com.senibo.todo_list_with_authentication.dto.todo.SearchCursor;
+import com.senibo.todo_list_with_authentication.dto.todo.SyncToken;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoBatchResult;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoChangesResponse;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoCursor;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoETags;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoFileFormat;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoFilter;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoImportResult;
 import com.senibo.todo_list_with_authentication.dto.todo.TodoResponse;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoSearchResponse;
+import com.senibo.todo_list_with_authentication.model.Priority;
 import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+import com.senibo.todo_list_with_authentication.service.TodoExportService;
+import com.senibo.todo_list_with_authentication.service.TodoImportService;
 import com.senibo.todo_list_with_authentication.service.TodoService;
+import com.senibo.todo_list_with_authentication.service.stream.TodoEventHub;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -28,7 +59,17 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TodoController {
 
+    private static final int MAX_CURSOR_LIMIT = 100;
+    private static final int MAX_CHANGES_LIMIT = 1000;
+    private static final int MAX_QUERY_LENGTH = 200;
+
     private final TodoService todoService;
+    private final TodoEventHub eventHub;
+    private final TodoExportService exportService;
+    private final TodoImportService importService;
+
+    @Value("${spring.app.exportTimeoutMs:1800000}")
+    private long exportTimeoutMs;
 
     @Operation(summary = "Create todo", description = "Add a new todo for the current user.")
     @ApiResponses({@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Todo created", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class), examples = @ExampleObject(name = "CreateTodoSuccess", value = """
@@ -62,16 +103,34 @@ public class TodoController {
             @Valid @RequestBody CreateTodoRequest req,
             @AuthenticationPrincipal UserDetailsImpl currentUser) {
 
-        var saved = todoService.createTodo(req.title(), req.description(), currentUser);
+        var saved = todoService.createTodo(req, currentUser);
         return ResponseEntity.status(HttpStatus.CREATED)
-                             .body(ApiResponse.success("Todo created successfully",
-                                                       TodoMapper.toResponse(saved)));
+                             .eTag(TodoETags.single(saved.id(), saved.version()))
+                             .body(ApiResponse.success("Todo created successfully", saved));
     }
 
-    @Operation(summary = "List todos", description = "Paginated list; admins see all, users see theirs.")
+    @Operation(summary = "List todos", description = "Paginated list; admins see all, users see theirs. " +
+            "Passing after and/or limit switches to cursor mode (newest first, no total count). " +
+            "Passing completed, dueFrom, dueTo or minPriority filters the page (no total count either; " +
+            "sortable by id, createdAt, dueDate and priority). Filters cannot be combined with cursor mode. " +
+            "Non-admin responses carry an ETag; a matching If-None-Match returns 304 without a body.")
     @GetMapping
     public ResponseEntity<ApiResponse<?>> getTodos(
             @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletRequest request,
+            @Parameter(description = "Cursor mode: nextCursor of the previous page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Cursor mode: page size (1-" + MAX_CURSOR_LIMIT + ", default 10)")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Filter: only done (true) or open (false) todos")
+            @RequestParam(required = false) Boolean completed,
+            @Parameter(description = "Filter: due on or after this date (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @Parameter(description = "Filter: due on or before this date (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @Parameter(description = "Filter: this priority or higher")
+            @RequestParam(required = false) Priority minPriority,
             @ParameterObject
             @PageableDefault(size = 10, sort = "id", direction = org.springframework.data.domain.Sort.Direction.DESC)
             Pageable pageable) {
@@ -80,27 +139,244 @@ public class TodoController {
                                      .stream()
                                      .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
 
-        var page = todoService.getTodos(currentUser, isAdmin, pageable).map(TodoMapper::toResponse);
+        // The list version is one indexed read; on a match no todo is loaded or serialized.
+        // Admin listings span every user and are not versioned.
+        String etag = isAdmin ? null : TodoETags.list(currentUser.getId(),
+                                                      todoService.getListVersion(currentUser),
+                                                      request.getQueryString());
+        if (TodoETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        var filter = new TodoFilter(completed, dueFrom, dueTo, minPriority);
+        boolean cursorMode = after != null || limit != null;
+        if (cursorMode && !filter.isEmpty()) {
+            throw new IllegalArgumentException("Filters cannot be combined with after/limit");
+        }
+
+        Object body;
+        if (cursorMode) {
+            body = todosAfterBody(currentUser, isAdmin, after, limit == null ? 10 : limit);
+        } else if (!filter.isEmpty()) {
+            body = filteredBody(currentUser, isAdmin, filter, pageable);
+        } else {
+            body = pageBody(currentUser, isAdmin, pageable);
+        }
+
+        var response = ResponseEntity.ok();
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        return response.body(ApiResponse.success("Todos retrieved successfully", body));
+    }
+
+    private Map<String, Object> pageBody(UserDetailsImpl currentUser, boolean isAdmin, Pageable pageable) {
+        var page = todoService.getTodos(currentUser, isAdmin, pageable);
+
+        return Map.of("content",
+                      page.getContent(),
+                      "page",
+                      page.getNumber(),
+                      "size",
+                      page.getSize(),
+                      "total",
+                      page.getTotalElements(),
+                      "totalPages",
+                      page.getTotalPages(),
+                      "hasNext",
+                      page.hasNext(),
+                      "hasPrevious",
+                      page.hasPrevious());
+    }
+
+    private Map<String, Object> filteredBody(UserDetailsImpl currentUser,
+                                             boolean isAdmin,
+                                             TodoFilter filter,
+                                             Pageable pageable) {
+        var slice = todoService.findTodos(currentUser, isAdmin, filter, pageable);
+
+        return Map.of("content",
+                      slice.getContent(),
+                      "page",
+                      slice.getNumber(),
+                      "size",
+                      slice.getSize(),
+                      "hasNext",
+                      slice.hasNext(),
+                      "hasPrevious",
+                      slice.hasPrevious());
+    }
+
+    private Map<String, Object> todosAfterBody(UserDetailsImpl currentUser,
+                                               boolean isAdmin,
+                                               String after,
+                                               int limit) {
+        if (limit < 1 || limit > MAX_CURSOR_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_CURSOR_LIMIT);
+        }
+        Long afterId = after == null || after.isBlank() ? null : TodoCursor.decode(after);
+
+        var slice = todoService.getTodosAfter(currentUser, isAdmin, afterId, limit);
+        var content = slice.getContent();
+
+        // LinkedHashMap because nextCursor is null on the last page
+        var body = new LinkedHashMap<String, Object>();
+        body.put("content", content);
+        body.put("size", content.size());
+        body.put("hasNext", slice.hasNext());
+        body.put("nextCursor", slice.hasNext() ? TodoCursor.encode(content.get(content.size() - 1).id()) : null);
+        return body;
+    }
+
+    @Operation(summary = "Stream todo changes", description = "Server-Sent Events stream of the current user's " +
+            "todo creates, updates and deletes. Reconnect with Last-Event-ID to resume; a 'reset' event means " +
+            "the gap could not be replayed and the list should be reloaded.")
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTodos(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                  @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        Long resumeFrom = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeFrom = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid Last-Event-ID");
+            }
+        }
+        return eventHub.subscribe(currentUser.getId(), resumeFrom);
+    }
+
+    @Operation(summary = "Todo changes since a sync token", description = "Returns the current user's todos " +
+            "created, updated or deleted after 'since' (omit it for a full sync), oldest first. Keep calling with " +
+            "nextToken while hasMore is true. 410 means the token is too old and the list must be reloaded.")
+    @ApiResponses({@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Changes since the token"), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "410", description = "Sync token expired")})
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<TodoChangesResponse>> getChanges(
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @Parameter(description = "nextToken of the previous call")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Max changes per call (1-" + MAX_CHANGES_LIMIT + ", default 500)")
+            @RequestParam(defaultValue = "500") int limit) {
+
+        if (limit < 1 || limit > MAX_CHANGES_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_CHANGES_LIMIT);
+        }
+        long sinceSeq = since == null || since.isBlank() ? 0 : SyncToken.decode(since);
 
-        var body = Map.of("content",
-                          page.getContent(),
-                          "page",
-                          page.getNumber(),
-                          "size",
-                          page.getSize(),
-                          "total",
-                          page.getTotalElements(),
-                          "totalPages",
-                          page.getTotalPages(),
-                          "hasNext",
-                          page.hasNext(),
-                          "hasPrevious",
-                          page.hasPrevious());
-        return ResponseEntity.ok(ApiResponse.success("Todos retrieved successfully", body));
+        var changes = todoService.getChanges(currentUser, sinceSeq, limit);
+        return ResponseEntity.ok(ApiResponse.success("Changes retrieved successfully", changes));
     }
 
+    @Operation(summary = "Export todos", description = "Streams the current user's todos (all todos for admins) " +
+            "as NDJSON or CSV, in id order.")
+    @ApiResponses({@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "File stream"), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Too many exports running; retry later")})
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTodos(
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @Parameter(description = "ndjson or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request) {
+
+        // Only the export may outlive the default async timeout; the streaming body runs under
+        // the async request set up for this call, so its timeout is raised here
+        var asyncRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        asyncRequest.setTimeout(exportTimeoutMs);
+
+        boolean isAdmin = currentUser.getAuthorities()
+                                     .stream()
+                                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+
+        var fileFormat = TodoFileFormat.parse(format);
+        var body = exportService.export(currentUser, isAdmin, fileFormat);
+        // The body may never run (task rejected, or timed out before it started), so its slot is
+        // also freed when the async request ends, however it ends
+        asyncRequest.addCompletionHandler(body::release);
+        return ResponseEntity.ok()
+                             .contentType(fileFormat.mediaType())
+                             .header(HttpHeaders.CONTENT_DISPOSITION,
+                                     ContentDisposition.attachment()
+                                                       .filename("todos." + fileFormat.extension())
+                                                       .build()
+                                                       .toString())
+                             .body(body);
+    }
+
+    @Operation(summary = "Import todos", description = "Creates todos for the current user from an NDJSON body " +
+            "(one create payload object per line) or a CSV body with a header row naming the title and description " +
+            "columns, plus optional dueDate and priority columns. Rows are validated like create; invalid rows are " +
+            "reported by line and skipped.")
+    @ApiResponses({@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import report", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class), examples = @ExampleObject(name = "ImportReport", value = """
+            {
+              "success": true,
+              "message": "Import finished",
+              "data": {
+                "imported": 9998,
+                "failed": 2,
+                "errors": [
+                  { "line": 17, "errors": ["title: Title is required"] },
+                  { "line": 803, "errors": ["Invalid JSON: Unexpected end-of-input"] }
+                ],
+                "errorsTruncated": false
+              }
+            }
+            """))), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Too many imports running; retry later")})
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<TodoImportResult>> importTodos(
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @Parameter(description = "ndjson or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request) throws IOException {
+
+        // The body is read straight from the request stream, row by row
+        var result = importService.importTodos(request.getInputStream(), TodoFileFormat.parse(format), currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Import finished", result));
+    }
+
+    @Operation(summary = "Search todos", description = "Full-text search over the current user's todo titles " +
+            "and descriptions (web-search syntax: quoted phrases, or, -exclude). Best match first; pass nextCursor " +
+            "as after for the next page.")
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<TodoSearchResponse>> searchTodos(
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @Parameter(description = "Search text") @RequestParam String q,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size (1-" + MAX_CURSOR_LIMIT + ", default 20)")
+            @RequestParam(defaultValue = "20") int limit) {
+
+        if (q.isBlank() || q.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("q must be between 1 and " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_CURSOR_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_CURSOR_LIMIT);
+        }
+        var cursor = after == null || after.isBlank() ? SearchCursor.START : SearchCursor.decode(after);
+
+        var hits = todoService.searchTodos(currentUser, q, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Todos retrieved successfully", hits));
+    }
+
+    @Operation(summary = "Get todo", description = "Fetch one todo by ID; admins can read any todo. " +
+            "A matching If-None-Match returns 304 without a body.")
+    @ApiResponses({@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Todo found"), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the given ETag"), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden (not owner and not admin)")})
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<TodoResponse>> getTodo(@PathVariable Long id,
+                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                             String ifNoneMatch,
+                                                             @AuthenticationPrincipal UserDetailsImpl currentUser) {
+
+        boolean isAdmin = currentUser.getAuthorities()
+                                     .stream()
+                                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+
+        var todo = todoService.getTodo(id, currentUser, isAdmin);
+        String etag = TodoETags.single(todo.id(), todo.version());
+        if (TodoETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success("Todo retrieved successfully", todo));
+    }
 
-    @Operation(summary = "Update todo", description = "Update title/description by ID.")
+    @Operation(summary = "Update todo", description = "Update title/description by ID, and dueDate/priority when given. " +
+            "Send the todo's ETag as If-Match to fail with 412 if it changed in the meantime.")
     @ApiResponses({@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Todo updated", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class), examples = @ExampleObject(name = "UpdateTodoSuccess", value = """
             {
               "success": true,
@@ -131,12 +407,14 @@ public class TodoController {
               "error": "Todo not found",
               "errors": null
             }
-            """)))})
+            """))), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "If-Match does not match the current version")})
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<TodoResponse>> updateTodo(@PathVariable Long id,
                                                                 @Valid @RequestBody
                                                                 CreateTodoRequest req,
                                                                 // or a separate UpdateTodoRequest
+                                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                                String ifMatch,
                                                                 @AuthenticationPrincipal
                                                                 UserDetailsImpl currentUser) {
 
@@ -145,15 +423,40 @@ public class TodoController {
                                      .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
 
         var updated = todoService.updateTodo(id,
-                                             req.title(),
-                                             req.description(),
+                                             req,
+                                             TodoETags.expectedVersion(ifMatch, id),
                                              currentUser,
                                              isAdmin);
-        return ResponseEntity.ok(ApiResponse.success("Todo updated successfully",
-                                                     TodoMapper.toResponse(updated)));
+        return ResponseEntity.ok()
+                             .eTag(TodoETags.single(updated.id(), updated.version()))
+                             .body(ApiResponse.success("Todo updated successfully", updated));
+    }
+
+    @Operation(summary = "Patch todo", description = "Update only the supplied fields; omitted fields are left as they are. " +
+            "Honours If-Match like update.")
+    @ApiResponses({@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Todo updated"), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden (not owner and not admin)"), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "If-Match does not match the current version")})
+    @PatchMapping("/{id}")
+    public ResponseEntity<ApiResponse<TodoResponse>> patchTodo(@PathVariable Long id,
+                                                               @Valid @RequestBody PatchTodoRequest req,
+                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                               String ifMatch,
+                                                               @AuthenticationPrincipal UserDetailsImpl currentUser) {
+
+        boolean isAdmin = currentUser.getAuthorities()
+                                     .stream()
+                                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+
+        var patched = todoService.patchTodo(id,
+                                            req,
+                                            TodoETags.expectedVersion(ifMatch, id),
+                                            currentUser,
+                                            isAdmin);
+        return ResponseEntity.ok()
+                             .eTag(TodoETags.single(patched.id(), patched.version()))
+                             .body(ApiResponse.success("Todo updated successfully", patched));
     }
 
-    @Operation(summary = "Delete todo", description = "Delete by ID.")
+    @Operation(summary = "Delete todo", description = "Delete by ID; honours If-Match like update.")
     @ApiResponses({@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "204", description = "Deleted (no content)"), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class), examples = @ExampleObject(name = "DeleteForbidden", value = """
             {
               "success": false,
@@ -170,16 +473,115 @@ public class TodoController {
               "error": "Todo not found",
               "errors": null
             }
-            """)))})
+            """))), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "If-Match does not match the current version")})
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTodo(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                            @AuthenticationPrincipal UserDetailsImpl currentUser) {
 
         boolean isAdmin = currentUser.getAuthorities()
                                      .stream()
                                      .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
 
-        todoService.deleteTodo(id, currentUser, isAdmin);
+        todoService.deleteTodo(id, TodoETags.expectedVersion(ifMatch, id), currentUser, isAdmin);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Bulk create todos",
+            description = "Create up to " + BatchCreateTodoRequest.MAX_ITEMS + " todos in one transaction.")
+    @ApiResponses({@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Per-item results", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class), examples = @ExampleObject(name = "BatchCreateSuccess", value = """
+            {
+              "success": true,
+              "message": "Batch processed",
+              "data": [
+                {
+                  "index": 0,
+                  "id": 10,
+                  "status": "CREATED",
+                  "todo": {
+                    "id": 10,
+                    "title": "Buy milk",
+                    "description": "2 liters",
+                    "userId": 1,
+                    "username": "jane"
+                  }
+                }
+              ]
+            }
+            """)))})
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<TodoBatchResult>>> createTodos(
+            @Valid @RequestBody BatchCreateTodoRequest req,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+
+        var results = todoService.createTodos(req.items(), currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Batch processed", results));
+    }
+
+    @Operation(summary = "Bulk update todos",
+            description = "Update up to " + BatchCreateTodoRequest.MAX_ITEMS + " todos in one transaction; " +
+                    "missing or foreign todos are reported per item.")
+    @ApiResponses({@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Per-item results", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class), examples = @ExampleObject(name = "BatchUpdateResults", value = """
+            {
+              "success": true,
+              "message": "Batch processed",
+              "data": [
+                {
+                  "index": 0,
+                  "id": 10,
+                  "status": "UPDATED",
+                  "todo": {
+                    "id": 10,
+                    "title": "Buy milk (almond)",
+                    "description": "2 liters",
+                    "userId": 1,
+                    "username": "jane"
+                  }
+                },
+                {
+                  "index": 1,
+                  "id": 99,
+                  "status": "NOT_FOUND",
+                  "error": "Todo not found"
+                }
+              ]
+            }
+            """)))})
+    @PatchMapping("/batch")
+    public ResponseEntity<ApiResponse<List<TodoBatchResult>>> updateTodos(
+            @Valid @RequestBody BatchUpdateTodoRequest req,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+
+        boolean isAdmin = currentUser.getAuthorities()
+                                     .stream()
+                                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+
+        var results = todoService.updateTodos(req.items(), currentUser, isAdmin);
+        return ResponseEntity.ok(ApiResponse.success("Batch processed", results));
+    }
+
+    @Operation(summary = "Bulk delete todos",
+            description = "Delete up to " + BatchCreateTodoRequest.MAX_ITEMS + " todos in one statement.")
+    @ApiResponses({@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Per-item results", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class), examples = @ExampleObject(name = "BatchDeleteResults", value = """
+            {
+              "success": true,
+              "message": "Batch processed",
+              "data": [
+                { "index": 0, "id": 10, "status": "DELETED" },
+                { "index": 1, "id": 12, "status": "FORBIDDEN", "error": "You are not allowed to modify this todo" }
+              ]
+            }
+            """)))})
+    @DeleteMapping("/batch")
+    public ResponseEntity<ApiResponse<List<TodoBatchResult>>> deleteTodos(
+            @Valid @RequestBody BatchDeleteTodoRequest req,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+
+        boolean isAdmin = currentUser.getAuthorities()
+                                     .stream()
+                                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+
+        var results = todoService.deleteTodos(req.ids(), currentUser, isAdmin);
+        return ResponseEntity.ok(ApiResponse.success("Batch processed", results));
+    }
 }
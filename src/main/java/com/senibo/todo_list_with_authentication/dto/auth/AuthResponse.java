@@ -4,11 +4,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.util.List;
 
-@Schema(description = "JWT + user info.")
+@Schema(description = "JWT, refresh token + user info.")
 public record AuthResponse(
         @Schema(example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
         String token,
 
+        @Schema(description = "Single-use token for POST /api/v1/auth/refresh", example = "q3N0aYJ1m7VZ2f9kR8xW4cLpT6eHsDuB1oGiKjMnQzE")
+        String refreshToken,
+
         @Schema(example = "jane")
         String username,
 
@@ -0,0 +1,12 @@
+package com.senibo.todo_list_with_authentication.dto.auth;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "Refresh payload: the refresh token from the last login or refresh.")
+public record RefreshRequest(
+        @NotBlank(message = "Refresh token is required")
+        @Schema(example = "q3N0aYJ1m7VZ2f9kR8xW4cLpT6eHsDuB1oGiKjMnQzE")
+        String refreshToken
+) {
+}
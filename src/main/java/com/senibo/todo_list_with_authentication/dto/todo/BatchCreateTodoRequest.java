@@ -0,0 +1,19 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Bulk create payload.")
+public record BatchCreateTodoRequest(
+
+        @NotEmpty(message = "At least one item is required")
+        @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " items per batch")
+        List<@Valid @NotNull CreateTodoRequest> items
+) {
+    public static final int MAX_ITEMS = 500;
+}
@@ -0,0 +1,19 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Bulk delete payload.")
+public record BatchDeleteTodoRequest(
+
+        @NotEmpty(message = "At least one id is required")
+        @Size(max = BatchCreateTodoRequest.MAX_ITEMS,
+              message = "At most " + BatchCreateTodoRequest.MAX_ITEMS + " ids per batch")
+        @Schema(example = "[10, 11, 12]")
+        List<@NotNull Long> ids
+) {
+}
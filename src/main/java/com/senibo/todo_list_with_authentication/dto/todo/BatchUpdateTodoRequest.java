@@ -0,0 +1,39 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Bulk update payload.")
+public record BatchUpdateTodoRequest(
+
+        @NotEmpty(message = "At least one item is required")
+        @Size(max = BatchCreateTodoRequest.MAX_ITEMS,
+              message = "At most " + BatchCreateTodoRequest.MAX_ITEMS + " items per batch")
+        List<@Valid @NotNull Item> items
+) {
+
+    @Schema(description = "One todo to update.")
+    public record Item(
+
+            @NotNull(message = "Id is required")
+            @Schema(example = "10")
+            Long id,
+
+            @NotBlank(message = "Title is required")
+            @Size(min = 3, max = 50, message = "Title must be between 3 and 50 characters long")
+            @Schema(example = "Buy milk")
+            String title,
+
+            @NotBlank(message = "Description is required")
+            @Size(min = 3, max = 255, message = "Description must be between 3 and 255 characters long")
+            @Schema(example = "2 liters")
+            String description
+    ) {
+    }
+}
@@ -1,9 +1,12 @@
 package com.senibo.todo_list_with_authentication.dto.todo;
 
+import com.senibo.todo_list_with_authentication.model.Priority;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import java.time.LocalDate;
+
 @Schema(description = "Create/update todo payload.")
 public record CreateTodoRequest(
 
@@ -15,6 +18,12 @@ public record CreateTodoRequest(
         @NotBlank(message = "Description is required")
         @Size(min = 3, max = 255, message = "Description must be between 3 and 255 characters long")
         @Schema(example = "2 liters")
-        String description
+        String description,
+
+        @Schema(example = "2025-06-30", nullable = true)
+        LocalDate dueDate,
+
+        @Schema(example = "HIGH", nullable = true, description = "Defaults to NORMAL")
+        Priority priority
 ) {
 }
@@ -0,0 +1,57 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.senibo.todo_list_with_authentication.model.Priority;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+@Schema(description = "Partial update payload; omitted fields keep their current value.")
+public record PatchTodoRequest(
+
+        @Pattern(regexp = "(?s).*\\S.*", message = "Title must not be blank")
+        @Size(min = 3, max = 50, message = "Title must be between 3 and 50 characters long")
+        @Schema(example = "Buy milk (almond)", nullable = true)
+        String title,
+
+        @Pattern(regexp = "(?s).*\\S.*", message = "Description must not be blank")
+        @Size(min = 3, max = 255, message = "Description must be between 3 and 255 characters long")
+        @Schema(example = "2 liters", nullable = true)
+        String description,
+
+        @Schema(example = "true", nullable = true)
+        Boolean completed,
+
+        @Schema(example = "2025-06-30", nullable = true)
+        LocalDate dueDate,
+
+        // A null dueDate means "unchanged", so removing it needs its own flag
+        @Schema(example = "false", nullable = true, description = "Remove the due date")
+        Boolean clearDueDate,
+
+        @Schema(example = "URGENT", nullable = true)
+        Priority priority
+) {
+
+    public boolean clearsDueDate() {
+        return Boolean.TRUE.equals(clearDueDate);
+    }
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    @AssertTrue(message = "At least one field is required")
+    public boolean isAnyFieldSet() {
+        return title != null || description != null || completed != null || dueDate != null
+                || clearsDueDate() || priority != null;
+    }
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    @AssertTrue(message = "dueDate and clearDueDate cannot be combined")
+    public boolean isDueDateConsistent() {
+        return dueDate == null || !clearsDueDate();
+    }
+}
@@ -0,0 +1,37 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for ranked search pages: the score and id of the last hit on a page.
+ * Float's shortest decimal form round-trips exactly, so the next page resumes at the same row.
+ */
+public record SearchCursor(float score, long id) {
+
+    private static final String PREFIX = "rank:";
+
+    public static final SearchCursor START = new SearchCursor(Float.POSITIVE_INFINITY, Long.MAX_VALUE);
+
+    public String encode() {
+        return Base64.getUrlEncoder()
+                     .withoutPadding()
+                     .encodeToString((PREFIX + score + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String[] parts = raw.substring(PREFIX.length()).split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new SearchCursor(Float.parseFloat(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) { // also covers NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque delta-sync token; wraps the last change sequence number a client has applied.
+ */
+@UtilityClass
+public class SyncToken {
+
+    private static final String PREFIX = "seq:";
+
+    public static String encode(long changeSeq) {
+        return Base64.getUrlEncoder()
+                     .withoutPadding()
+                     .encodeToString((PREFIX + changeSeq).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            long seq = Long.parseLong(raw.substring(PREFIX.length()));
+            if (seq < 0) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            return seq;
+        } catch (IllegalArgumentException e) { // also covers NumberFormatException
+            throw new IllegalArgumentException("Invalid sync token");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of one item in a bulk request.")
+public record TodoBatchResult(
+        @Schema(example = "0") int index,
+        @Schema(example = "10") Long id,
+        @Schema(example = "CREATED") Status status,
+        TodoResponse todo,
+        @Schema(example = "Todo not found") String error
+) {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        FORBIDDEN
+    }
+
+    public static TodoBatchResult ok(int index, Status status, TodoResponse todo) {
+        return new TodoBatchResult(index, todo.id(), status, todo, null);
+    }
+
+    public static TodoBatchResult deleted(int index, Long id) {
+        return new TodoBatchResult(index, id, Status.DELETED, null, null);
+    }
+
+    public static TodoBatchResult notFound(int index, Long id) {
+        return new TodoBatchResult(index, id, Status.NOT_FOUND, null, "Todo not found");
+    }
+
+    public static TodoBatchResult forbidden(int index, Long id) {
+        return new TodoBatchResult(index, id, Status.FORBIDDEN, null, "You are not allowed to modify this todo");
+    }
+}
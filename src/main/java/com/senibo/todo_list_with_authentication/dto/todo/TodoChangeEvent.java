@@ -0,0 +1,34 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * One committed write to a user's todos, as published to their change stream.
+ * Bulk operations produce a single event per owner.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+@Schema(description = "Todo change pushed over the event stream.")
+public record TodoChangeEvent(
+        @Schema(example = "UPDATED") Type type,
+        @Schema(example = "1") Long ownerId,
+        @Schema(example = "[10]") List<Long> ids,
+        @Schema(description = "Current state of the changed todos; empty for deletes") List<TodoResponse> todos
+) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TodoChangeEvent of(Type type, Long ownerId, List<TodoResponse> todos) {
+        return new TodoChangeEvent(type, ownerId, todos.stream().map(TodoResponse::id).toList(), todos);
+    }
+
+    public static TodoChangeEvent deleted(Long ownerId, List<Long> ids) {
+        return new TodoChangeEvent(Type.DELETED, ownerId, ids, List.of());
+    }
+}
@@ -0,0 +1,14 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Todos changed since a sync token.")
+public record TodoChangesResponse(
+        @Schema(description = "Created or updated todos, in change order") List<TodoResponse> upserted,
+        @Schema(example = "[12, 15]", description = "Ids of deleted todos") List<Long> deleted,
+        @Schema(example = "c2VxOjQy", description = "Pass as since on the next call") String nextToken,
+        @Schema(example = "false", description = "More changes are waiting; call again right away") boolean hasMore
+) {
+}
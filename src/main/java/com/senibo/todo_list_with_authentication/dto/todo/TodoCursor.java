@@ -0,0 +1,33 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset pagination; wraps the id of the last todo on a page.
+ */
+@UtilityClass
+public class TodoCursor {
+
+    private static final String PREFIX = "id:";
+
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder()
+                     .withoutPadding()
+                     .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) { // also covers NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Strong ETags for todos ({@code "t<id>-<version>"}) and for a user's list
+ * ({@code "l<userId>-<listVersion>-<query hash>"}).
+ */
+@UtilityClass
+public class TodoETags {
+
+    public static String single(Long id, Long version) {
+        return "\"t" + id + "-" + version + "\"";
+    }
+
+    public static String list(Long userId, long listVersion, String queryString) {
+        String variant = Integer.toHexString(queryString == null ? 0 : queryString.hashCode());
+        return "\"l" + userId + "-" + listVersion + "-" + variant + "\"";
+    }
+
+    /**
+     * If-None-Match check (weak comparison, as RFC 9110 requires for GET).
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*")) return true;
+            if (c.startsWith("W/")) c = c.substring(2);
+            if (c.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Version required by an If-Match header for todo {@code id}, or null when there is no
+     * precondition ({@code null} or {@code *}).
+     */
+    public static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+
+        String prefix = "\"t" + id + "-";
+        String tag = ifMatch.trim();
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"")) {
+            throw new OptimisticLockingFailureException("If-Match does not match the current todo");
+        }
+        try {
+            return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new OptimisticLockingFailureException("If-Match does not match the current todo");
+        }
+    }
+}
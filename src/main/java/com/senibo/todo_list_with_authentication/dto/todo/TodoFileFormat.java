@@ -0,0 +1,38 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * File formats for todo export and import: one JSON object per line, or CSV with a header row.
+ */
+public enum TodoFileFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    TodoFileFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static TodoFileFormat parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("format must be ndjson or csv");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import com.senibo.todo_list_with_authentication.model.Priority;
+
+import java.time.LocalDate;
+
+/**
+ * Optional list filters; null fields do not filter. Due bounds are inclusive.
+ */
+public record TodoFilter(Boolean completed, LocalDate dueFrom, LocalDate dueTo, Priority minPriority) {
+
+    public static final TodoFilter NONE = new TodoFilter(null, null, null, null);
+
+    public boolean isEmpty() {
+        return completed == null && dueFrom == null && dueTo == null && minPriority == null;
+    }
+}
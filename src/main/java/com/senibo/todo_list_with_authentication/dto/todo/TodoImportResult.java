@@ -0,0 +1,24 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of a bulk import.")
+public record TodoImportResult(
+        @Schema(example = "9998") long imported,
+        @Schema(example = "2") long failed,
+        @Schema(description = "Rejected rows, in file order (capped)") List<RowError> errors,
+        @Schema(example = "false", description = "More rows failed than are listed") boolean errorsTruncated,
+        @Schema(description = "Set when the import stopped early; rows before it were saved") String aborted
+) {
+
+    @Schema(description = "A rejected row.")
+    public record RowError(
+            @Schema(example = "42", description = "1-based line (CSV: where the record starts)") long line,
+            @Schema(example = "[\"title: Title is required\"]") List<String> errors
+    ) {
+    }
+}
@@ -1,18 +1,46 @@
 package com.senibo.todo_list_with_authentication.dto.todo;
 
+import com.senibo.todo_list_with_authentication.model.Priority;
 import com.senibo.todo_list_with_authentication.model.Todo;
+import com.senibo.todo_list_with_authentication.repository.TodoRepository;
 import lombok.experimental.UtilityClass;
 
 @UtilityClass
 public class TodoMapper {
 
     public static TodoResponse toResponse(Todo t) {
+        return toResponse(t, t.getUser().getId(), t.getUser().getUsername());
+    }
+
+    // For callers that already know the owner, so the lazy user is never loaded
+    public static TodoResponse toResponse(Todo t, Long userId, String username) {
         return new TodoResponse(
                 t.getId(),
                 t.getTitle(),
                 t.getDescription(),
-                t.getUser().getId(),
-                t.getUser().getUsername()
+                userId,
+                username,
+                t.getVersion(),
+                t.isCompleted(),
+                t.getDueDate(),
+                t.getPriority(),
+                t.getCreatedAt()
+        );
+    }
+
+    // Native query rows carry the priority ordinal as stored
+    public static TodoResponse toResponse(TodoRepository.TodoRow r, Long userId, String username) {
+        return new TodoResponse(
+                r.getId(),
+                r.getTitle(),
+                r.getDescription(),
+                userId,
+                username,
+                r.getVersion(),
+                Boolean.TRUE.equals(r.getCompleted()),
+                r.getDueDate(),
+                Priority.fromOrdinal(r.getPriority()),
+                r.getCreatedAt()
         );
     }
 }
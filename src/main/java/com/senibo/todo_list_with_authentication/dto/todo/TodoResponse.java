@@ -1,12 +1,21 @@
 package com.senibo.todo_list_with_authentication.dto.todo;
 
+import com.senibo.todo_list_with_authentication.model.Priority;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.time.Instant;
+import java.time.LocalDate;
+
 @Schema(description = "Todo resource.")
 public record TodoResponse(
         @Schema(example = "10") Long id,
         @Schema(example = "Buy milk") String title,
         @Schema(example = "2 liters") String description,
         @Schema(example = "1") Long userId,
-        @Schema(example = "jane") String username
+        @Schema(example = "jane") String username,
+        @Schema(example = "3") Long version,
+        @Schema(example = "false") boolean completed,
+        @Schema(example = "2025-06-30", nullable = true) LocalDate dueDate,
+        @Schema(example = "HIGH") Priority priority,
+        @Schema(example = "2025-06-01T09:30:00Z") Instant createdAt
 ) {}
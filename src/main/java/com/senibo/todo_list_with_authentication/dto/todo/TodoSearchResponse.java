@@ -0,0 +1,15 @@
+package com.senibo.todo_list_with_authentication.dto.todo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One page of search hits, best match first.")
+public record TodoSearchResponse(
+        List<TodoResponse> content,
+        @Schema(example = "20") int size,
+        @Schema(example = "true") boolean hasNext,
+        @Schema(example = "cmFuazowLjYwNzkyNzE6MTI", description = "Pass as after for the next page; null on the last page")
+        String nextCursor
+) {
+}
@@ -2,14 +2,16 @@ package com.senibo.todo_list_with_authentication.exception;
 
 import com.senibo.todo_list_with_authentication.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.nio.file.AccessDeniedException;
 import java.util.List;
 
 @Slf4j
@@ -78,6 +80,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error(ex.getMessage()));
     }
 
+    // Saturated worker pools (e.g. password hashing): ask the client to back off
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<?>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        log.debug("Service unavailable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                             .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    // Login attempts over the per-IP/per-identifier limits or in failure backoff
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<?>> handleTooManyRequests(TooManyRequestsException ex) {
+        log.debug("Too many requests: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                             .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    // If-Match precondition failed, or a concurrent write won the race
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<?>> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        log.debug("Precondition failed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                             .body(ApiResponse.error("Todo has been modified; reload and retry"));
+    }
+
+    // Delta sync token older than the retained tombstones: the client must reload everything
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    public ResponseEntity<ApiResponse<?>> handleSyncTokenExpired(SyncTokenExpiredException ex) {
+        log.debug("Sync token expired: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).body(ApiResponse.error(ex.getMessage()));
+    }
 
     // Catch-all for any unexpected exceptions
     @ExceptionHandler(Exception.class)
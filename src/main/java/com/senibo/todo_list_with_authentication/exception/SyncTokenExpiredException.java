@@ -0,0 +1,11 @@
+package com.senibo.todo_list_with_authentication.exception;
+
+/**
+ * The sync token predates the retained change history; the client has to reload its todos.
+ */
+public class SyncTokenExpiredException extends RuntimeException {
+
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
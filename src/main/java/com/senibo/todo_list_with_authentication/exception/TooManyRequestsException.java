@@ -0,0 +1,20 @@
+package com.senibo.todo_list_with_authentication.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a client is rate limited; answered with 429 and a Retry-After header.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        // Thrown for every rejected attempt of a flood, so skip the stack trace
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,13 @@
+package com.senibo.todo_list_with_authentication.model;
+
+// Stored by ordinal (smallint), so the declaration order is the sort order: keep new values at the end
+public enum Priority {
+    LOW,
+    NORMAL,
+    HIGH,
+    URGENT;
+
+    public static Priority fromOrdinal(Number ordinal) {
+        return ordinal == null ? null : values()[ordinal.intValue()];
+    }
+}
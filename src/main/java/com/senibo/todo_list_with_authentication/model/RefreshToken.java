@@ -0,0 +1,38 @@
+package com.senibo.todo_list_with_authentication.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// One login session (V7 migration); the token itself is never stored, only its SHA-256 digest
+@Entity
+@Table(name = "refresh_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "token_hash", nullable = false)
+    private byte[] tokenHash;
+
+    // The token this one replaced; presenting it again means it was copied
+    @Column(name = "previous_hash")
+    private byte[] previousHash;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Set by the database; the maximum session age counts from here
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -2,9 +2,16 @@ package com.senibo.todo_list_with_authentication.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.time.LocalDate;
 
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = {@Index(name = "idx_todos_user_id_id", columnList = "user_id, id")})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -12,8 +19,13 @@ import lombok.*;
 @Builder
 public class Todo {
 
+    // Must match the INCREMENT BY of todos_seq; bulk import allocates ids in the same blocks
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence (not IDENTITY) so inserts can be sent as JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_seq")
+    @SequenceGenerator(name = "todos_seq", sequenceName = "todos_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -25,4 +37,29 @@ public class Todo {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user; //owner of the todo
+
+    // Exposed as the todo's ETag; bulk JPQL updates bump it explicitly
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Builder.Default
+    @Enumerated(EnumType.ORDINAL)
+    @JdbcTypeCode(SqlTypes.SMALLINT)
+    @Column(nullable = false)
+    private Priority priority = Priority.NORMAL;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
 }
@@ -7,7 +7,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "users", uniqueConstraints = {@UniqueConstraint(columnNames = {"username"}), @UniqueConstraint(columnNames = {"email"})})
+@Table(name = "users", uniqueConstraints = {@UniqueConstraint(name = "uk_users_username", columnNames = {"username"}), @UniqueConstraint(name = "uk_users_email", columnNames = {"email"})})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,6 +31,15 @@ public class User {
     @Enumerated(EnumType.STRING) @Column(nullable=false, length=20)
     private Role role;
 
+    // Maintained by the todos triggers (V4 migration): raised once per statement to the highest
+    // change_seq written to this user's todos. The list ETag is derived from it.
+    @Column(name = "todos_version", nullable = false, updatable = false)
+    private long todosVersion;
+
+    // Highest change_seq whose tombstone has been purged; older sync tokens need a full resync
+    @Column(name = "changes_floor", nullable = false, updatable = false)
+    private long changesFloor;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Todo> todos = new ArrayList<>();
 
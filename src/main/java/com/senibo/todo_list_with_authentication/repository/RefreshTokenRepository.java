@@ -0,0 +1,47 @@
+package com.senibo.todo_list_with_authentication.repository;
+
+import com.senibo.todo_list_with_authentication.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+// Hashes are SHA-256 digests of the tokens handed out; see RefreshTokenStore
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    interface TokenOwner {
+        Long getId();
+        String getUsername();
+        String getEmail();
+        String getRole();
+    }
+
+    // Lookup, rotation and the owner's fields for the new access token in one statement. The new
+    // expiry never passes the session's maximum age. No row: unknown, expired or already rotated.
+    @Query(value = "update refresh_tokens rt set previous_hash = rt.token_hash, token_hash = :newHash, " +
+                   "expires_at = least(cast(:expiresAt as timestamptz), rt.created_at + make_interval(secs => :maxAgeSeconds)) " +
+                   "from users u " +
+                   "where rt.token_hash = :hash and rt.expires_at > now() and u.id = rt.user_id " +
+                   "returning u.id as id, u.username as username, u.email as email, u.role as role",
+           nativeQuery = true)
+    Optional<TokenOwner> rotate(@Param("hash") byte[] hash,
+                                @Param("newHash") byte[] newHash,
+                                @Param("expiresAt") Instant expiresAt,
+                                @Param("maxAgeSeconds") double maxAgeSeconds);
+
+    // A token that was already rotated away: ends that session and returns its owner
+    @Query(value = "delete from refresh_tokens where previous_hash = :hash returning user_id", nativeQuery = true)
+    List<Long> deleteByPreviousHash(@Param("hash") byte[] hash);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") Instant cutoff);
+}
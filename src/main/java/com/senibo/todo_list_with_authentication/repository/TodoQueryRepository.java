@@ -0,0 +1,20 @@
+package com.senibo.todo_list_with_authentication.repository;
+
+import com.senibo.todo_list_with_authentication.dto.todo.TodoResponse;
+import com.senibo.todo_list_with_authentication.model.Todo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Dynamic list queries that JpaSpecificationExecutor cannot express: it returns entities,
+ * these project straight into TodoResponse like the derived listing queries do.
+ */
+public interface TodoQueryRepository {
+
+    /**
+     * One page of matching todos in the pageable's order. Reads one extra row instead of
+     * running a count query.
+     */
+    Slice<TodoResponse> findResponses(Specification<Todo> spec, Pageable pageable);
+}
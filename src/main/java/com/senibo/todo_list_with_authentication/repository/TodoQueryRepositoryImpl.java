@@ -0,0 +1,59 @@
+package com.senibo.todo_list_with_authentication.repository;
+
+import com.senibo.todo_list_with_authentication.dto.todo.TodoResponse;
+import com.senibo.todo_list_with_authentication.model.Todo;
+import com.senibo.todo_list_with_authentication.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class TodoQueryRepositoryImpl implements TodoQueryRepository {
+
+    private final EntityManager em;
+
+    @Override
+    public Slice<TodoResponse> findResponses(Specification<Todo> spec, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<TodoResponse> query = cb.createQuery(TodoResponse.class);
+        Root<Todo> t = query.from(Todo.class);
+        Join<Todo, User> u = t.join("user");
+
+        // Same shape as TodoRepository.SELECT_RESPONSE
+        query.select(cb.construct(TodoResponse.class,
+                                  t.get("id"),
+                                  t.get("title"),
+                                  t.get("description"),
+                                  u.get("id"),
+                                  u.get("username"),
+                                  t.get("version"),
+                                  t.get("completed"),
+                                  t.get("dueDate"),
+                                  t.get("priority"),
+                                  t.get("createdAt")));
+        Predicate where = spec.toPredicate(t, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), t, cb));
+
+        int size = pageable.getPageSize();
+        List<TodoResponse> rows = em.createQuery(query)
+                                    .setFirstResult((int) pageable.getOffset())
+                                    .setMaxResults(size + 1)
+                                    .getResultList();
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+}
@@ -1,11 +1,175 @@
 package com.senibo.todo_list_with_authentication.repository;
 
+import com.senibo.todo_list_with_authentication.dto.todo.TodoResponse;
 import com.senibo.todo_list_with_authentication.model.Todo;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface TodoRepository extends JpaRepository<Todo, Long>, TodoQueryRepository {
+
+    // Listing reads project straight into TodoResponse with the owner joined in, so no
+    // entities are hydrated and no per-owner lazy SELECT follows
+    String SELECT_RESPONSE = "select new com.senibo.todo_list_with_authentication.dto.todo.TodoResponse(" +
+            "t.id, t.title, t.description, u.id, u.username, t.version, t.completed, t.dueDate, t.priority, t.createdAt) " +
+            "from Todo t join t.user u ";
+
+    // Column list of the native queries below; camelCase aliases are quoted or Postgres folds them
+    String TODO_ROW_COLUMNS = "id, title, description, version, completed, due_date as \"dueDate\", " +
+            "priority, created_at as \"createdAt\"";
+
+    interface OwnerVersion {
+        Long getOwnerId();
+        Long getVersion();
+    }
+
+    // A todo row as read by native SQL; see TodoMapper for the conversion to TodoResponse
+    interface TodoRow {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        Long getVersion();
+        Boolean getCompleted();
+        LocalDate getDueDate();
+        Short getPriority();
+        Instant getCreatedAt();
+    }
+
+    interface ChangeRow extends TodoRow {
+        Long getChangeSeq();
+        boolean isDeleted();
+    }
+
+    interface SearchRow extends TodoRow {
+        Float getScore();
+    }
 
-public interface TodoRepository extends JpaRepository<Todo, Long> {
     Page<Todo> findByUserId(Long userId, Pageable pageable);
+
+    @Query(value = SELECT_RESPONSE + "where u.id = :userId",
+           countQuery = "select count(t) from Todo t where t.user.id = :userId")
+    Page<TodoResponse> findResponsesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = SELECT_RESPONSE, countQuery = "select count(t) from Todo t")
+    Page<TodoResponse> findAllResponses(Pageable pageable);
+
+    // Keyset pages: seek on (user_id, id) below the cursor, no OFFSET and no count query
+
+    @Query(SELECT_RESPONSE + "where u.id = :userId and t.id < :id order by t.id desc")
+    List<TodoResponse> findResponsesByUserIdBefore(@Param("userId") Long userId, @Param("id") Long id, Limit limit);
+
+    @Query(SELECT_RESPONSE + "where t.id < :id order by t.id desc")
+    List<TodoResponse> findAllResponsesBefore(@Param("id") Long id, Limit limit);
+
+    // Export: forward-only cursor over DTOs, so nothing accumulates in the persistence context
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_RESPONSE + "where u.id = :userId order by t.id")
+    Stream<TodoResponse> streamResponsesByUserId(@Param("userId") Long userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_RESPONSE + "order by t.id")
+    Stream<TodoResponse> streamAllResponses();
+
+    // Ranked full-text search over the owner's todos (GIN on user_id, search_vector), resuming
+    // after the (score, id) of the previous page
+    @Query(value = "select " + TODO_ROW_COLUMNS + ", ts_rank(t.search_vector, q) as score " +
+                   "from todos t, websearch_to_tsquery('english', :q) q " +
+                   "where t.user_id = :userId and t.search_vector @@ q " +
+                   "and (ts_rank(t.search_vector, q), t.id) < (cast(:afterScore as real), :afterId) " +
+                   "order by score desc, t.id desc " +
+                   "limit :limit",
+           nativeQuery = true)
+    List<SearchRow> search(@Param("userId") Long userId,
+                           @Param("q") String q,
+                           @Param("afterScore") float afterScore,
+                           @Param("afterId") long afterId,
+                           @Param("limit") int limit);
+
+    // Single todo by primary key; the owner filter is part of the same query
+
+    @Query(SELECT_RESPONSE + "where t.id = :id and u.id = :userId")
+    Optional<TodoResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query(SELECT_RESPONSE + "where t.id = :id")
+    Optional<TodoResponse> findResponseById(@Param("id") Long id);
+
+    @Query("select t.user.id as ownerId, t.version as version from Todo t where t.id = :id")
+    Optional<OwnerVersion> findOwnerVersionById(@Param("id") Long id);
+
+    // Ownership check, optional version check (expectedVersion < 0 skips it) and write in one
+    // statement; no row means missing, not owned or stale. Null parameters keep the current
+    // column value; the casts give Postgres a type for null binds.
+    @Query(value = "update todos set title = coalesce(cast(:title as varchar), title), " +
+                   "description = coalesce(cast(:description as varchar), description), " +
+                   "completed = coalesce(cast(:completed as boolean), completed), " +
+                   "due_date = case when :clearDueDate then null else coalesce(cast(:dueDate as date), due_date) end, " +
+                   "priority = coalesce(cast(:priority as smallint), priority), " +
+                   "version = version + 1, updated_at = now() " +
+                   "where id = :id and user_id = :userId and (:expectedVersion < 0 or version = :expectedVersion) " +
+                   "returning " + TODO_ROW_COLUMNS,
+           nativeQuery = true)
+    Optional<TodoRow> patchOwned(@Param("id") Long id,
+                                 @Param("userId") Long userId,
+                                 @Param("title") String title,
+                                 @Param("description") String description,
+                                 @Param("completed") Boolean completed,
+                                 @Param("dueDate") LocalDate dueDate,
+                                 @Param("clearDueDate") boolean clearDueDate,
+                                 @Param("priority") Short priority,
+                                 @Param("expectedVersion") long expectedVersion);
+
+    @Modifying
+    @Query("delete from Todo t where t.id = :id and t.user.id = :userId " +
+           "and (:expectedVersion < 0 or t.version = :expectedVersion)")
+    int deleteOwned(@Param("id") Long id,
+                    @Param("userId") Long userId,
+                    @Param("expectedVersion") long expectedVersion);
+
+    @Modifying
+    @Query("delete from Todo t where t.id = :id and (:expectedVersion < 0 or t.version = :expectedVersion)")
+    int deleteAnyOwner(@Param("id") Long id, @Param("expectedVersion") long expectedVersion);
+
+    // The todos triggers take a transaction-scoped advisory lock per owner, row by row in write order.
+    // Writes spanning several rows take their owners' locks here first, in id order, so two of them
+    // cannot wait on each other; the triggers' own calls are then no-ops. Returns the owner count.
+    @Query(value = "select count(*) from (select pg_advisory_xact_lock(u.id) from users u " +
+                   "where u.id in (:ownerIds) order by u.id) l",
+           nativeQuery = true)
+    long lockOwners(@Param("ownerIds") Collection<Long> ownerIds);
+
+    // Delta sync: live rows and tombstones after the token, merged in change_seq order.
+    // Both branches seek on a (user_id, change_seq) index.
+    @Query(value = "(select " + TODO_ROW_COLUMNS + ", change_seq as \"changeSeq\", false as deleted " +
+                   " from todos where user_id = :userId and change_seq > :since) " +
+                   "union all " +
+                   "(select todo_id, null, null, null, null, null, null, null, change_seq, true " +
+                   " from todo_tombstones where user_id = :userId and change_seq > :since) " +
+                   "order by 9 limit :limit",
+           nativeQuery = true)
+    List<ChangeRow> findChangesSince(@Param("userId") Long userId, @Param("since") long since, @Param("limit") int limit);
+
+    // Drops tombstones older than the cutoff and raises each affected owner's changes_floor
+    @Modifying
+    @Query(value = "with purged as (delete from todo_tombstones where deleted_at < :cutoff returning user_id, change_seq) " +
+                   "update users u set changes_floor = p.max_seq " +
+                   "from (select user_id, max(change_seq) as max_seq from purged group by user_id) p " +
+                   "where u.id = p.user_id and u.changes_floor < p.max_seq",
+           nativeQuery = true)
+    int purgeTombstones(@Param("cutoff") Instant cutoff);
 }
@@ -0,0 +1,48 @@
+package com.senibo.todo_list_with_authentication.repository;
+
+import com.senibo.todo_list_with_authentication.dto.todo.TodoFilter;
+import com.senibo.todo_list_with_authentication.model.Priority;
+import com.senibo.todo_list_with_authentication.model.Todo;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * List filters. Each combination has a matching index in V6__todo_status_fields.sql; the
+ * completed predicate is rendered as a literal so Postgres can prove the partial indexes apply.
+ */
+@UtilityClass
+public class TodoSpecifications {
+
+    public static Specification<Todo> ownedBy(Long userId) {
+        return (t, q, cb) -> cb.equal(t.get("user").get("id"), userId);
+    }
+
+    public static Specification<Todo> completed(boolean completed) {
+        return (t, q, cb) -> completed ? cb.isTrue(t.get("completed")) : cb.isFalse(t.get("completed"));
+    }
+
+    // Inclusive; either bound may be null. Todos without a due date never match.
+    public static Specification<Todo> dueBetween(LocalDate from, LocalDate to) {
+        return (t, q, cb) -> {
+            if (from == null) return cb.lessThanOrEqualTo(t.get("dueDate"), to);
+            if (to == null) return cb.greaterThanOrEqualTo(t.get("dueDate"), from);
+            return cb.between(t.get("dueDate"), from, to);
+        };
+    }
+
+    public static Specification<Todo> priorityAtLeast(Priority priority) {
+        return (t, q, cb) -> cb.greaterThanOrEqualTo(t.get("priority"), priority);
+    }
+
+    public static Specification<Todo> matching(TodoFilter filter) {
+        List<Specification<Todo>> specs = new ArrayList<>();
+        if (filter.completed() != null) specs.add(completed(filter.completed()));
+        if (filter.dueFrom() != null || filter.dueTo() != null) specs.add(dueBetween(filter.dueFrom(), filter.dueTo()));
+        if (filter.minPriority() != null) specs.add(priorityAtLeast(filter.minPriority()));
+        return Specification.allOf(specs);
+    }
+}
@@ -2,12 +2,31 @@ package com.senibo.todo_list_with_authentication.repository;
 
 import com.senibo.todo_list_with_authentication.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
-    Boolean existsByUsername(String username);
-    Boolean existsByEmail(String email);
+    // Login identifier lookup in one query; can match two rows if one user's username is another's email
+    List<User> findByUsernameOrEmail(String username, String email);
+
+    @Query("select u.todosVersion from User u where u.id = :id")
+    Optional<Long> findTodosVersion(@Param("id") Long id);
+
+    @Query("select u.todosVersion as todosVersion, u.changesFloor as changesFloor from User u where u.id = :id")
+    Optional<SyncState> findSyncState(@Param("id") Long id);
+
+    interface SyncState {
+        Long getTodosVersion();
+        Long getChangesFloor();
+    }
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -1,8 +1,12 @@
 package com.senibo.todo_list_with_authentication.security;
 
+import com.senibo.todo_list_with_authentication.security.crypto.BoundedPasswordEncoder;
 import com.senibo.todo_list_with_authentication.security.jwt.AuthTokenFilter;
 import com.senibo.todo_list_with_authentication.security.jwt.SecurityErrorHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,6 +20,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableMethodSecurity
 @RequiredArgsConstructor
@@ -23,9 +29,18 @@ public class SecurityConfig {
     private final AuthTokenFilter jwtFilter;
     private final SecurityErrorHandler securityErrorHandler;
 
+    // BCrypt on a bounded worker pool; raising the strength re-hashes stored passwords on next login
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(MeterRegistry registry,
+                                    @Value("${spring.app.bcryptStrength:10}") int strength,
+                                    @Value("${spring.app.passwordHashThreads:0}") int threads,
+                                    @Value("${spring.app.passwordHashQueue:64}") int queueCapacity,
+                                    @Value("${spring.app.passwordHashTimeoutMs:5000}") long timeoutMs) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength),
+                                          threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                                          queueCapacity,
+                                          Duration.ofMillis(timeoutMs),
+                                          registry);
     }
 
     @Bean
@@ -38,6 +53,9 @@ public class SecurityConfig {
         http.csrf(csrf -> csrf.disable());
         http.sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
         http.authorizeHttpRequests(auth -> auth.requestMatchers(HttpMethod.OPTIONS, "/**")
+                                               .permitAll()
+                                               // Async dispatches (SSE completion/timeout) were authorized on the original request
+                                               .dispatcherTypeMatchers(DispatcherType.ASYNC)
                                                .permitAll()
                                                .requestMatchers("/api/v1/auth/**")
                                                .permitAll()
@@ -45,6 +63,11 @@ public class SecurityConfig {
                                                                 "/swagger-ui" + "/**",
                                                                 "/swagger.html")
                                                .permitAll()
+                                               .requestMatchers("/actuator/health")
+                                               .permitAll()
+                                               // Metrics name endpoints, repository methods and outcomes; scrape with an admin token
+                                               .requestMatchers("/actuator/prometheus")
+                                               .hasRole("ADMIN")
                                                //.requestMatchers("/api/admin/**").hasRole("ADMIN")
                                                .anyRequest()
                                                .authenticated());
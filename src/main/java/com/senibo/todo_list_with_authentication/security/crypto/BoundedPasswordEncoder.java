@@ -0,0 +1,110 @@
+package com.senibo.todo_list_with_authentication.security.crypto;
+
+import com.senibo.todo_list_with_authentication.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing and verification on a dedicated, bounded worker pool so a
+ * burst of logins or signups cannot tie up every request thread.
+ * <p>
+ * When all workers are busy and the queue is full the call is rejected at once with
+ * a {@link ServiceUnavailableException} (503 + Retry-After) instead of waiting.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor pool;
+    private final Duration timeout;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate,
+                                  int threads,
+                                  int queueCapacity,
+                                  Duration timeout,
+                                  MeterRegistry registry) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads,
+                                           threads,
+                                           0L,
+                                           TimeUnit.MILLISECONDS,
+                                           new ArrayBlockingQueue<>(queueCapacity),
+                                           r -> {
+                                               Thread t = new Thread(r, "password-hash-" + counter.incrementAndGet());
+                                               t.setDaemon(true);
+                                               return t;
+                                           },
+                                           new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("password.hash")
+                                .tag("op", "encode")
+                                .publishPercentileHistogram()
+                                .register(registry);
+        this.matchesTimer = Timer.builder("password.hash")
+                                 .tag("op", "matches")
+                                 .publishPercentileHistogram()
+                                 .register(registry);
+        this.rejected = Counter.builder("password.hash.rejected").register(registry);
+        Gauge.builder("password.hash.queue", pool, p -> p.getQueue().size()).register(registry);
+        Gauge.builder("password.hash.active", pool, ThreadPoolExecutor::getActiveCount).register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    // Cheap string inspection, no need to go through the pool
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = pool.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many authentication requests, please retry", RETRY_AFTER);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("Password hashing timed out, please retry", RETRY_AFTER);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
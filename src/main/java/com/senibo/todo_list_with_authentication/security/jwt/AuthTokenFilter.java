@@ -2,26 +2,66 @@
 package com.senibo.todo_list_with_authentication.security.jwt;
 
 import com.senibo.todo_list_with_authentication.security.services.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class AuthTokenFilter extends OncePerRequestFilter {
     private final JwtUtils jwt;
     private final UserDetailsServiceImpl uds;
+    private final VerifiedTokenCache tokenCache;
+
+    // true: build the principal from the token claims; false: reload the user from the database
+    @Value("${spring.app.jwtStateless:true}")
+    private boolean stateless;
+
+    // Token stage: cache lookup or verification plus the revocation check, by outcome
+    private final Timer tokenAuthenticated;
+    private final Timer tokenInvalid;
+    private final Timer tokenRevoked;
+    // User stage: principal built from the claims or loaded from the database
+    private final Timer userFromClaims;
+    private final Timer userFromDatabase;
+
+    public AuthTokenFilter(JwtUtils jwt,
+                           UserDetailsServiceImpl uds,
+                           VerifiedTokenCache tokenCache,
+                           MeterRegistry registry) {
+        this.jwt = jwt;
+        this.uds = uds;
+        this.tokenCache = tokenCache;
+        this.tokenAuthenticated = timer("auth.filter.token", "outcome", "authenticated", registry);
+        this.tokenInvalid = timer("auth.filter.token", "outcome", "invalid", registry);
+        this.tokenRevoked = timer("auth.filter.token", "outcome", "revoked", registry);
+        this.userFromClaims = timer("auth.filter.user", "source", "claims", registry);
+        this.userFromDatabase = timer("auth.filter.user", "source", "database", registry);
+    }
+
+    private static Timer timer(String name, String tag, String value, MeterRegistry registry) {
+        return Timer.builder(name)
+                    .tag(tag, value)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(500))
+                    .maximumExpectedValue(Duration.ofMillis(500))
+                    .register(registry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest req,
@@ -35,14 +75,29 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
             String token = auth.substring(7);
 
-            if (jwt.isValid(token)) {
-                String username = jwt.getUsername(token);
-                var userDetails = uds.loadUserByUsername(username);
-                var authToken = new UsernamePasswordAuthenticationToken(userDetails,
-                                                                        null,
-                                                                        userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(req));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            long start = System.nanoTime();
+            JwtClaims claims = tokenCache.verify(token).orElse(null);
+            if (claims == null) {
+                tokenInvalid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } else {
+                if (jwt.isRevoked(claims)) {
+                    tokenRevoked.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    log.debug("Revoked token for user {}", claims.subject());
+                } else {
+                    long verified = System.nanoTime();
+                    tokenAuthenticated.record(verified - start, TimeUnit.NANOSECONDS);
+
+                    UserDetails userDetails = stateless
+                            ? claims.toUserDetails()
+                            : uds.loadUserByUsername(claims.subject());
+                    (stateless ? userFromClaims : userFromDatabase).record(System.nanoTime() - verified,
+                                                                           TimeUnit.NANOSECONDS);
+                    var authToken = new UsernamePasswordAuthenticationToken(userDetails,
+                                                                            null,
+                                                                            userDetails.getAuthorities());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(req));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
             }
         }
         chain.doFilter(req, res);
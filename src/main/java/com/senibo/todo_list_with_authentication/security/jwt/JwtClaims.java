@@ -0,0 +1,42 @@
+package com.senibo.todo_list_with_authentication.security.jwt;
+
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The claims of a verified access token, as written by {@link JwtUtils#generate}.
+ */
+public record JwtClaims(
+        String subject,
+        Long uid,
+        String email,
+        List<String> roles,
+        int version,
+        Instant expiresAt
+) {
+
+    static JwtClaims from(Claims claims) {
+        String roles = claims.get("roles", String.class);
+        Integer version = claims.get("ver", Integer.class);
+
+        return new JwtClaims(claims.getSubject(),
+                             claims.get("uid", Long.class),
+                             claims.get("email", String.class),
+                             roles == null || roles.isBlank() ? List.of() : Arrays.asList(roles.split(",")),
+                             version == null ? 0 : version,
+                             claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+    }
+
+    public UserDetailsImpl toUserDetails() {
+        return new UserDetailsImpl(uid,
+                                   subject,
+                                   email,
+                                   null,
+                                   roles.stream().map(SimpleGrantedAuthority::new).toList());
+    }
+}
@@ -3,9 +3,13 @@ package com.senibo.todo_list_with_authentication.security.jwt;
 import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,7 +17,13 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 
@@ -22,54 +32,126 @@ public class JwtUtils {
 
 
     private static final Logger log = LoggerFactory.getLogger(JwtUtils.class);
-    @Value("${spring.app.jwtSecret}")
-    private String base64Secret;
 
-    @Value("${spring.app.jwtExpirationMs}")
-    private long expiresMs;
+    // Decoded once; the parser is immutable and safe to share between requests
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final String keyId;
+    private final long expiresMs;
+    private final TokenVersionRegistry versions;
 
-    private SecretKey key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+    // Registered up front so the hot path only records a duration
+    private final Timer generateTimer;
+    private final Timer verifyValid;
+    private final Timer verifyExpired;
+    private final Timer verifyBadSignature;
+    private final Timer verifyMalformed;
+
+    public JwtUtils(@Value("${spring.app.jwtSecret}") String base64Secret,
+                    @Value("${spring.app.jwtExpirationMs}") long expiresMs,
+                    TokenVersionRegistry versions,
+                    MeterRegistry registry) {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.keyId = fingerprint(key);
+        this.expiresMs = expiresMs;
+        this.versions = versions;
+        this.generateTimer = timer("jwt.generate", null, registry);
+        this.verifyValid = timer("jwt.verify", "valid", registry);
+        this.verifyExpired = timer("jwt.verify", "expired", registry);
+        this.verifyBadSignature = timer("jwt.verify", "bad_signature", registry);
+        this.verifyMalformed = timer("jwt.verify", "malformed", registry);
+    }
+
+    // Bounded histogram range keeps the bucket count (and the scrape size) small
+    private static Timer timer(String name, String outcome, MeterRegistry registry) {
+        var builder = Timer.builder(name)
+                           .publishPercentileHistogram()
+                           .minimumExpectedValue(Duration.ofNanos(1_000))
+                           .maximumExpectedValue(Duration.ofMillis(100));
+        if (outcome != null) {
+            builder.tag("outcome", outcome);
+        }
+        return builder.register(registry);
+    }
+
+    private static String fingerprint(SecretKey key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Short fingerprint of the signing key; changes whenever the secret does.
+     */
+    public String keyId() {
+        return keyId;
     }
 
     public String generate(UserDetailsImpl user) {
+        long start = System.nanoTime();
         String roles = user.getAuthorities()
                            .stream()
                            .map(GrantedAuthority::getAuthority)
                            .collect(Collectors.joining(","));
 
-        return Jwts.builder()
-                   .subject(user.getUsername())
-                   .claim("uid", user.getId())
-                   .claim("roles", roles)
-                   .issuedAt(new Date())
-                   .expiration(new Date(System.currentTimeMillis() + expiresMs))
-                   .signWith(key())
-                   .compact();
+        String token = Jwts.builder()
+                           .subject(user.getUsername())
+                           .claim("uid", user.getId())
+                           .claim("email", user.getEmail())
+                           .claim("roles", roles)
+                           .claim("ver", versions.current(user.getId()))
+                           .issuedAt(new Date())
+                           .expiration(new Date(System.currentTimeMillis() + expiresMs))
+                           .signWith(key)
+                           .compact();
+        generateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
     }
 
-    public String getUsername(String token) {
-        return Jwts.parser()
-                   .verifyWith(key())
-                   .build()
-                   .parseSignedClaims(token)
-                   .getPayload()
-                   .getSubject();
-    }
-
-    public boolean isValid(String token) {
+    /**
+     * Verifies the signature and expiry once and returns the typed claims,
+     * or empty when the token is expired, malformed or badly signed.
+     */
+    public Optional<JwtClaims> verify(String token) {
+        long start = System.nanoTime();
+        Timer outcome = verifyMalformed;
         try {
-            Jwts.parser().verifyWith(key()).build().parseSignedClaims(token);
-            return true;
+            var claims = JwtClaims.from(parser.parseSignedClaims(token).getPayload());
+            outcome = verifyValid;
+            return Optional.of(claims);
         } catch (ExpiredJwtException e) {
+            outcome = verifyExpired;
             log.warn("JWT expired: {}", e.getMessage());
-
-        } catch (JwtException e) { // malformed/unsupported/signature, etc.
+        } catch (SignatureException e) {
+            outcome = verifyBadSignature;
+            log.warn("JWT signature invalid: {}", e.getMessage());
+        } catch (JwtException e) { // malformed/unsupported, etc.
             log.warn("JWT invalid: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             log.warn("JWT empty/illegal: {}", e.getMessage());
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
 
-        return false;
+        return Optional.empty();
+    }
+
+    /**
+     * True when the token was issued before its user's tokens were revoked.
+     */
+    public boolean isRevoked(JwtClaims claims) {
+        return claims.uid() != null && versions.isRevoked(claims.uid(), claims.version());
+    }
+
+    public String getUsername(String token) {
+        return parser.parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    public boolean isValid(String token) {
+        return verify(token).isPresent();
     }
 }
@@ -0,0 +1,33 @@
+package com.senibo.todo_list_with_authentication.security.jwt;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-user token versions used to revoke access tokens without a database read.
+ * Every token carries the {@code ver} claim it was issued with; bumping a user's
+ * version invalidates all tokens issued before the bump.
+ * <p>
+ * Only revoked users have an entry, so the map stays small. Versions are kept in
+ * memory, so a restart forgets revocations; tokens are short-lived (see
+ * {@code spring.app.jwtExpirationMs}) which bounds that window.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final ConcurrentMap<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    public int current(Long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    public void revokeAll(Long userId) {
+        versions.merge(userId, 1, Integer::sum);
+    }
+
+    public boolean isRevoked(Long userId, int tokenVersion) {
+        return tokenVersion < current(userId);
+    }
+}
@@ -0,0 +1,91 @@
+package com.senibo.todo_list_with_authentication.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Bounded cache of verified tokens so a client reusing the same bearer token skips
+ * signature verification and claim parsing on every call.
+ * <p>
+ * Entries are keyed by a SHA-256 digest of the signing key id and the token, so raw
+ * tokens are never held and a rotated key can never hit an entry verified under the
+ * old one. Each entry expires at the token's {@code exp} claim; size pressure evicts
+ * the least useful entries first. Revocation is still checked by the caller on every
+ * request.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtils jwt;
+    private final Cache<String, JwtClaims> cache;
+
+    public VerifiedTokenCache(JwtUtils jwt,
+                              MeterRegistry registry,
+                              @Value("${spring.app.jwtCacheMaxSize:50000}") long maxSize) {
+        this.jwt = jwt;
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maxSize)
+                             .expireAfter(new UntilTokenExpiry())
+                             .recordStats()
+                             .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "jwt.verified");
+    }
+
+    public Optional<JwtClaims> verify(String token) {
+        String key = digest(token);
+        JwtClaims cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<JwtClaims> verified = jwt.verify(token);
+        verified.filter(c -> c.expiresAt() != null).ifPresent(c -> cache.put(key, c));
+        return verified;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(jwt.keyId().getBytes(StandardCharsets.US_ASCII));
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtClaims value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtClaims value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
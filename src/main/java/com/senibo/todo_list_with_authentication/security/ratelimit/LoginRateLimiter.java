@@ -0,0 +1,257 @@
+package com.senibo.todo_list_with_authentication.security.ratelimit;
+
+import com.senibo.todo_list_with_authentication.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Turns login attempts away before the password is checked, so a credential-stuffing burst costs
+ * a few array reads per attempt instead of a BCrypt verification.
+ * <p>
+ * Two token buckets limit attempts per client IP and per identifier, and failed attempts put the
+ * identifier into exponential backoff. All state lives in fixed-size {@link AtomicLongArray}s
+ * indexed by a seeded hash of the key: memory is bounded by {@code spring.app.loginLimiterSlots}
+ * however many distinct keys arrive, nothing is allocated per attempt, and idle keys need no
+ * eviction because a slot whose time has passed reads as a full bucket and is simply reused.
+ * <p>
+ * Each key maps to two slots and uses the less loaded one (count-min style), so a collision only
+ * throttles a key when both of its slots are shared with busier keys. Updates are CAS loops; two
+ * racing attempts on the same key may both get through at the edge, which is fine for a limiter.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final int COUNT_SHIFT = 48;
+    private static final long TIME_MASK = (1L << COUNT_SHIFT) - 1;
+    private static final long MAX_COUNT = 0xFFFF;
+
+    private final boolean enabled;
+    private final Bucket ipBuckets;
+    private final Bucket identifierBuckets;
+    // Per identifier: failure count << 48 | time of the last failure (ms since start, 0 = none)
+    private final AtomicLongArray failures;
+    private final int mask;
+    private final int freeFailures;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final long failureWindowMs;
+    private final long seed;
+    private final LongSupplier nanoClock;
+    private final long origin;
+
+    private final Counter throttledByIp;
+    private final Counter throttledByIdentifier;
+    private final Counter throttledByBackoff;
+
+    @Autowired
+    public LoginRateLimiter(MeterRegistry registry,
+                            @Value("${spring.app.loginLimiterEnabled:true}") boolean enabled,
+                            @Value("${spring.app.loginLimiterSlots:1048576}") int slots,
+                            @Value("${spring.app.loginIpPerMinute:60}") int ipPerMinute,
+                            @Value("${spring.app.loginIpBurst:20}") int ipBurst,
+                            @Value("${spring.app.loginIdentifierPerMinute:10}") int identifierPerMinute,
+                            @Value("${spring.app.loginIdentifierBurst:5}") int identifierBurst,
+                            @Value("${spring.app.loginFreeFailures:3}") int freeFailures,
+                            @Value("${spring.app.loginBackoffBaseMs:1000}") long backoffBaseMs,
+                            @Value("${spring.app.loginBackoffMaxMs:900000}") long backoffMaxMs,
+                            @Value("${spring.app.loginFailureWindowMs:900000}") long failureWindowMs) {
+        this(registry, enabled, slots, ipPerMinute, ipBurst, identifierPerMinute, identifierBurst,
+             freeFailures, backoffBaseMs, backoffMaxMs, failureWindowMs, System::nanoTime, new SecureRandom().nextLong());
+    }
+
+    // Tests pass a fake clock and a fixed seed
+    LoginRateLimiter(MeterRegistry registry, boolean enabled, int slots,
+                     int ipPerMinute, int ipBurst, int identifierPerMinute, int identifierBurst,
+                     int freeFailures, long backoffBaseMs, long backoffMaxMs, long failureWindowMs,
+                     LongSupplier nanoClock, long seed) {
+        if (slots < 2 || Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("spring.app.loginLimiterSlots must be a power of two");
+        }
+        this.enabled = enabled;
+        this.ipBuckets = new Bucket(slots, ipPerMinute, ipBurst);
+        this.identifierBuckets = new Bucket(slots, identifierPerMinute, identifierBurst);
+        this.failures = new AtomicLongArray(slots);
+        this.mask = slots - 1;
+        this.freeFailures = freeFailures;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.failureWindowMs = failureWindowMs;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        this.seed = seed;
+
+        this.throttledByIp = throttled(registry, "ip");
+        this.throttledByIdentifier = throttled(registry, "identifier");
+        this.throttledByBackoff = throttled(registry, "backoff");
+    }
+
+    private static Counter throttled(MeterRegistry registry, String reason) {
+        return Counter.builder("auth.login.throttled")
+                      .description("Login attempts rejected before authentication")
+                      .tag("reason", reason)
+                      .register(registry);
+    }
+
+    /**
+     * Admits one attempt or throws {@link TooManyRequestsException} carrying how long to wait.
+     */
+    public void check(String identifier, String clientIp) {
+        if (!enabled) return;
+        long now = nanos();
+        long id = hash(identifier);
+
+        long blockedMs = blockedFor(id, millis(now));
+        if (blockedMs > 0) {
+            throttledByBackoff.increment();
+            throw rejected("Too many failed login attempts; try again later", TimeUnit.MILLISECONDS.toNanos(blockedMs));
+        }
+        // The IP bucket first, so one noisy client does not drain the buckets of the identifiers it tries
+        long wait = ipBuckets.acquire(hash(clientIp == null ? "" : clientIp), now);
+        if (wait > 0) {
+            throttledByIp.increment();
+            throw rejected("Too many login attempts from this address; try again later", wait);
+        }
+        wait = identifierBuckets.acquire(id, now);
+        if (wait > 0) {
+            throttledByIdentifier.increment();
+            throw rejected("Too many login attempts for this account; try again later", wait);
+        }
+    }
+
+    public void onFailure(String identifier) {
+        if (!enabled) return;
+        long nowMs = millis(nanos());
+        long id = hash(identifier);
+        int a = first(id);
+        int b = second(id);
+
+        long current = Math.min(live(failures.get(a), nowMs), live(failures.get(b), nowMs));
+        long count = Math.min((current >>> COUNT_SHIFT) + 1, MAX_COUNT);
+        long next = count << COUNT_SHIFT | nowMs;
+        raiseFailures(a, next, nowMs);
+        raiseFailures(b, next, nowMs);
+    }
+
+    public void onSuccess(String identifier) {
+        if (!enabled) return;
+        long nowMs = millis(nanos());
+        long id = hash(identifier);
+        int a = first(id);
+        int b = second(id);
+
+        // Only clear slots holding exactly this key's view; a busier key sharing a slot keeps its count
+        long sa = failures.get(a);
+        long sb = failures.get(b);
+        long own = Math.min(live(sa, nowMs), live(sb, nowMs));
+        if (live(sa, nowMs) == own) failures.compareAndSet(a, sa, 0);
+        if (live(sb, nowMs) == own) failures.compareAndSet(b, sb, 0);
+    }
+
+    // Milliseconds the identifier must still wait after its last failure, 0 when free to try
+    private long blockedFor(long id, long nowMs) {
+        long state = Math.min(live(failures.get(first(id)), nowMs), live(failures.get(second(id)), nowMs));
+        long count = state >>> COUNT_SHIFT;
+        if (count <= freeFailures) return 0;
+        long delay = Math.min(backoffBaseMs << Math.min(count - freeFailures - 1, 30), backoffMaxMs);
+        return Math.max(0, (state & TIME_MASK) + delay - nowMs);
+    }
+
+    // A failure state older than the window counts as no failures at all
+    private long live(long state, long nowMs) {
+        return state != 0 && nowMs - (state & TIME_MASK) <= failureWindowMs ? state : 0;
+    }
+
+    private void raiseFailures(int slot, long next, long nowMs) {
+        long prev;
+        do {
+            prev = failures.get(slot);
+            if (live(prev, nowMs) >= next) return;
+        } while (!failures.compareAndSet(slot, prev, next));
+    }
+
+    private static TooManyRequestsException rejected(String message, long waitNanos) {
+        long seconds = Math.max(1, Math.ceilDiv(waitNanos, TimeUnit.SECONDS.toNanos(1)));
+        return new TooManyRequestsException(message, Duration.ofSeconds(seconds));
+    }
+
+    private long nanos() {
+        return nanoClock.getAsLong() - origin;
+    }
+
+    private static long millis(long nanos) {
+        // +1 so that 0 always means "no failure recorded"
+        return nanos / 1_000_000 + 1;
+    }
+
+    // Package-private so tests can pick keys that share a slot
+    int first(long hash) {
+        return (int) hash & mask;
+    }
+
+    int second(long hash) {
+        return (int) (hash >>> 32) & mask;
+    }
+
+    // Seeded FNV-1a over the lower-cased chars, then a murmur finalizer; no String is allocated
+    long hash(String key) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= Character.toLowerCase(key.charAt(i));
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Token buckets as GCRA: each slot holds the bucket's theoretical arrival time, the moment it
+     * would be full again. A slot at or before now is a full bucket.
+     */
+    private final class Bucket {
+
+        private final AtomicLongArray tats;
+        private final long interval;
+        private final long tolerance;
+
+        Bucket(int slots, int perMinute, int burst) {
+            this.tats = new AtomicLongArray(slots);
+            this.interval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+            this.tolerance = interval * (Math.max(1, burst) - 1);
+        }
+
+        // 0 when admitted, otherwise nanos until the next token
+        long acquire(long hash, long now) {
+            int a = first(hash);
+            int b = second(hash);
+            while (true) {
+                long ta = tats.get(a);
+                long tb = tats.get(b);
+                int slot = ta <= tb ? a : b;
+                long tat = Math.min(ta, tb);
+
+                long start = Math.max(tat, now);
+                if (start - tolerance > now) {
+                    return start - tolerance - now;
+                }
+                long next = start + interval;
+                if (tats.compareAndSet(slot, tat, next)) {
+                    tats.accumulateAndGet(slot == a ? b : a, next, Math::max);
+                    return 0;
+                }
+            }
+        }
+    }
+}
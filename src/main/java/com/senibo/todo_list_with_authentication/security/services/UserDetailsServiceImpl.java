@@ -4,25 +4,45 @@ import com.senibo.todo_list_with_authentication.model.User;
 import com.senibo.todo_list_with_authentication.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository users;
 
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
-        // Accept username OR email
-        User user = users.findByUsername(usernameOrEmail)
-                .or(() -> users.findByEmail(usernameOrEmail))
+        // Accept username OR email, in a single query; a username match wins as before
+        List<User> matches = users.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail);
+        User user = matches.stream()
+                .filter(u -> u.getUsername().equals(usernameOrEmail))
+                .findFirst()
+                .or(() -> matches.stream().findFirst())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail));
 
         return UserDetailsImpl.from(user);
     }
+
+    // Called by the authentication provider after a successful login when the stored
+    // hash uses a weaker BCrypt cost than spring.app.bcryptStrength
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserDetailsImpl details = (UserDetailsImpl) user;
+        users.updatePassword(details.getId(), newPassword);
+        return new UserDetailsImpl(details.getId(),
+                                   details.getUsername(),
+                                   details.getEmail(),
+                                   newPassword,
+                                   details.getAuthorities());
+    }
 }
@@ -1,11 +1,15 @@
 package com.senibo.todo_list_with_authentication.service;
 
 import com.senibo.todo_list_with_authentication.dto.auth.AuthResponse;
+import com.senibo.todo_list_with_authentication.dto.auth.RefreshRequest;
 import com.senibo.todo_list_with_authentication.dto.auth.SigninRequest;
 import com.senibo.todo_list_with_authentication.dto.auth.SignupRequest;
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
 
 // AuthService.java
 public interface AuthService {
   void register(SignupRequest req);
-  AuthResponse login(SigninRequest req);
+  AuthResponse login(SigninRequest req, String clientIp);
+  AuthResponse refresh(RefreshRequest req);
+  void logout(UserDetailsImpl currentUser);
 }
@@ -0,0 +1,28 @@
+package com.senibo.todo_list_with_authentication.service;
+
+import com.senibo.todo_list_with_authentication.dto.todo.TodoFileFormat;
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface TodoExportService {
+
+    /**
+     * Body that streams the caller's todos (every todo for admins) in id order. Rows are read
+     * through a database cursor and written as they arrive, so memory use does not grow with
+     * the number of rows.
+     *
+     * @throws com.senibo.todo_list_with_authentication.exception.ServiceUnavailableException when
+     *         too many exports are already running
+     */
+    Export export(UserDetailsImpl currentUser, boolean isAdmin, TodoFileFormat format);
+
+    /**
+     * Export body holding one of the export slots. Running the body frees the slot; if it may
+     * never run (the async task was rejected or timed out first), {@link #release()} frees it.
+     * Releasing more than once is harmless.
+     */
+    interface Export extends StreamingResponseBody {
+
+        void release();
+    }
+}
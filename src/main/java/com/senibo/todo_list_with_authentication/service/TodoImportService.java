@@ -0,0 +1,19 @@
+package com.senibo.todo_list_with_authentication.service;
+
+import com.senibo.todo_list_with_authentication.dto.todo.TodoFileFormat;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoImportResult;
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface TodoImportService {
+
+    /**
+     * Creates todos for the caller from an NDJSON or CSV upload, read as it arrives. Each row is
+     * validated like {@code POST /api/v1/todos}; valid rows are inserted in JDBC batches and
+     * committed in chunks, invalid ones are reported by line. The {@code completed} flag is kept
+     * as well, so an export can be imported as is.
+     */
+    TodoImportResult importTodos(InputStream in, TodoFileFormat format, UserDetailsImpl currentUser) throws IOException;
+}
@@ -1,21 +1,86 @@
 package com.senibo.todo_list_with_authentication.service;
 
-import com.senibo.todo_list_with_authentication.model.Todo;
+import com.senibo.todo_list_with_authentication.dto.todo.BatchUpdateTodoRequest;
+import com.senibo.todo_list_with_authentication.dto.todo.CreateTodoRequest;
+import com.senibo.todo_list_with_authentication.dto.todo.PatchTodoRequest;
+import com.senibo.todo_list_with_authentication.dto.todo.SearchCursor;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoBatchResult;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoChangesResponse;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoFilter;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoResponse;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoSearchResponse;
 import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 public interface TodoService {
 
-    Todo createTodo(String title, String description, UserDetailsImpl currentUser);
+    TodoResponse createTodo(CreateTodoRequest req, UserDetailsImpl currentUser);
+
+    Page<TodoResponse> getTodos(UserDetailsImpl currentUser, boolean isAdmin, Pageable pageable);
+
+    /**
+     * Page of todos matching {@code filter}, without a total count. Sortable by id, createdAt,
+     * dueDate and priority; id is always appended as the tiebreak.
+     */
+    Slice<TodoResponse> findTodos(UserDetailsImpl currentUser, boolean isAdmin, TodoFilter filter, Pageable pageable);
+
+    /**
+     * Keyset page of todos with an id below {@code afterId} (newest first); pass null for the first page.
+     */
+    Slice<TodoResponse> getTodosAfter(UserDetailsImpl currentUser, boolean isAdmin, Long afterId, int limit);
+
+    /**
+     * Version of the caller's todo list; changes whenever one of their todos is created, updated or deleted.
+     */
+    long getListVersion(UserDetailsImpl currentUser);
+
+    /**
+     * The caller's todo changes after change sequence {@code since} (0 for a full sync), oldest first,
+     * at most {@code limit} of them.
+     *
+     * @throws com.senibo.todo_list_with_authentication.exception.SyncTokenExpiredException when the
+     *         deletes since then are no longer retained
+     */
+    TodoChangesResponse getChanges(UserDetailsImpl currentUser, long since, int limit);
+
+    /**
+     * The caller's todos matching a web-search style query, best match first.
+     */
+    TodoSearchResponse searchTodos(UserDetailsImpl currentUser, String query, SearchCursor after, int limit);
+
+    TodoResponse getTodo(Long id, UserDetailsImpl currentUser, boolean isAdmin);
+
+    /**
+     * @param expectedVersion version the client last saw (If-Match), or null to update unconditionally
+     */
+    TodoResponse updateTodo(Long id,
+                            CreateTodoRequest req,
+                            Long expectedVersion,
+                            UserDetailsImpl currentUser,
+                            boolean isAdmin);
+
+    /**
+     * Updates only the non-null fields; same version semantics as {@link #updateTodo}.
+     */
+    TodoResponse patchTodo(Long id,
+                           PatchTodoRequest patch,
+                           Long expectedVersion,
+                           UserDetailsImpl currentUser,
+                           boolean isAdmin);
+
+    void deleteTodo(Long id, Long expectedVersion, UserDetailsImpl currentUser, boolean isAdmin);
+
+    // Bulk variants: one transaction per call, one result per item in request order
 
-    Page<Todo> getTodos(UserDetailsImpl currentUser, boolean isAdmin, Pageable pageable);
+    List<TodoBatchResult> createTodos(List<CreateTodoRequest> items, UserDetailsImpl currentUser);
 
-    Todo updateTodo(Long id,
-                    String title,
-                    String description,
-                    UserDetailsImpl currentUser,
-                    boolean isAdmin);
+    List<TodoBatchResult> updateTodos(List<BatchUpdateTodoRequest.Item> items,
+                                      UserDetailsImpl currentUser,
+                                      boolean isAdmin);
 
-    void deleteTodo(Long id, UserDetailsImpl currentUser, boolean isAdmin);
+    List<TodoBatchResult> deleteTodos(List<Long> ids, UserDetailsImpl currentUser, boolean isAdmin);
 }
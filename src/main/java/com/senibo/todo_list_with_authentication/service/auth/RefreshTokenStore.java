@@ -0,0 +1,99 @@
+package com.senibo.todo_list_with_authentication.service.auth;
+
+import com.senibo.todo_list_with_authentication.model.RefreshToken;
+import com.senibo.todo_list_with_authentication.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Rotating, single-use refresh tokens. A token is 256 random bits; only its SHA-256 digest is
+ * stored, which is enough for random secrets and costs microseconds where BCrypt costs a login.
+ * <p>
+ * Each refresh swaps the session's hash for a new one and slides its expiry by
+ * {@code spring.app.refreshTokenTtlDays}, never past {@code spring.app.refreshTokenMaxAgeDays}
+ * after the login. Only the latest rotated-away token is remembered for reuse detection; older
+ * ones are simply unknown.
+ */
+@Slf4j
+@Component
+public class RefreshTokenStore {
+
+    public record Rotation(String token, RefreshTokenRepository.TokenOwner owner) {}
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+    private final RefreshTokenRepository tokens;
+    private final Duration ttl;
+    private final Duration maxAge;
+
+    public RefreshTokenStore(RefreshTokenRepository tokens,
+                             @Value("${spring.app.refreshTokenTtlDays:14}") long ttlDays,
+                             @Value("${spring.app.refreshTokenMaxAgeDays:90}") long maxAgeDays) {
+        this.tokens = tokens;
+        this.ttl = Duration.ofDays(ttlDays);
+        this.maxAge = Duration.ofDays(maxAgeDays);
+    }
+
+    /** Starts a session for the user and returns its first token. */
+    public String issue(Long userId) {
+        String token = newToken();
+        tokens.save(RefreshToken.builder()
+                                .userId(userId)
+                                .tokenHash(hash(token))
+                                .expiresAt(Instant.now().plus(ttl.compareTo(maxAge) < 0 ? ttl : maxAge))
+                                .build());
+        return token;
+    }
+
+    /** Exchanges a live token for its successor; empty when the token is not (or no longer) valid. */
+    public Optional<Rotation> rotate(String token) {
+        String next = newToken();
+        return tokens.rotate(hash(token), hash(next), Instant.now().plus(ttl), maxAge.toSeconds())
+                     .map(owner -> new Rotation(next, owner));
+    }
+
+    /** Ends the session a rotated-away token belonged to and returns its owner, if it was one. */
+    public Optional<Long> revokeReused(String token) {
+        return tokens.deleteByPreviousHash(hash(token)).stream().findFirst();
+    }
+
+    public void revokeAll(Long userId) {
+        tokens.deleteByUserId(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${spring.app.refreshTokenPurgeIntervalMs:3600000}", initialDelay = 60_000)
+    @Transactional
+    public void purge() {
+        int purged = tokens.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
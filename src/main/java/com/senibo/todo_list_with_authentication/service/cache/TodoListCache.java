@@ -0,0 +1,146 @@
+package com.senibo.todo_list_with_authentication.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Caches the first few pages of each user's todo list.
+ * <p>
+ * All pages of a user live under one entry, so a write drops exactly that user's pages
+ * with a single invalidation. The cache is bounded by an estimated byte weight
+ * ({@code spring.app.todoCacheMaxBytes}) and a TTL. Writers bump a striped
+ * generation counter, and a load that raced with a write is not stored.
+ */
+@Component
+public class TodoListCache {
+
+    public record PageKey(boolean cursor, int page, int size, String sort) {
+
+        public static PageKey of(Pageable pageable) {
+            return new PageKey(false, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+        }
+
+        public static PageKey firstCursorPage(int limit) {
+            return new PageKey(true, 0, limit, "id: DESC");
+        }
+    }
+
+    private static final int STRIPES = 1024;
+
+    private final boolean enabled;
+    private final int maxPages;
+    private final Cache<Long, Map<PageKey, Slice<TodoResponse>>> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final Counter hits;
+    private final Counter misses;
+
+    public TodoListCache(MeterRegistry registry,
+                         @Value("${spring.app.todoCacheEnabled:true}") boolean enabled,
+                         @Value("${spring.app.todoCacheMaxPages:3}") int maxPages,
+                         @Value("${spring.app.todoCacheTtlSeconds:60}") long ttlSeconds,
+                         @Value("${spring.app.todoCacheMaxBytes:67108864}") long maxBytes) {
+        this.enabled = enabled;
+        this.maxPages = maxPages;
+        this.cache = Caffeine.newBuilder()
+                             .maximumWeight(maxBytes)
+                             .weigher((Long userId, Map<PageKey, Slice<TodoResponse>> pages) -> weigh(pages))
+                             .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                             .recordStats()
+                             .build();
+
+        CaffeineCacheMetrics.monitor(registry, cache, "todo.list");
+        this.hits = Counter.builder("todo.list.cache.pages").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("todo.list.cache.pages").tag("result", "miss").register(registry);
+    }
+
+    public <S extends Slice<TodoResponse>> S get(Long userId, PageKey key, Supplier<S> loader) {
+        if (!enabled || key.page() >= maxPages) {
+            return loader.get();
+        }
+
+        Map<PageKey, Slice<TodoResponse>> pages = cache.getIfPresent(userId);
+        @SuppressWarnings("unchecked")
+        S cached = pages == null ? null : (S) pages.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        S loaded = loader.get();
+        if (generations.get(stripe) == generation) {
+            cache.asMap().compute(userId, (id, current) -> {
+                // Checked again under the entry's lock: a write that bumped the generation since the
+                // check above may already have invalidated, and the stale page would outlive it
+                if (generations.get(stripe) != generation) {
+                    return current;
+                }
+                Map<PageKey, Slice<TodoResponse>> next = current == null ? new HashMap<>() : new HashMap<>(current);
+                next.put(key, loaded);
+                return Map.copyOf(next);
+            });
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the user's cached pages now and again after the surrounding transaction commits,
+     * so a concurrent reader cannot re-cache rows the transaction is about to change.
+     */
+    public void evict(Long userId) {
+        if (!enabled) return;
+
+        invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private void invalidate(Long userId) {
+        generations.incrementAndGet(stripe(userId));
+        cache.invalidate(userId);
+    }
+
+    private static int stripe(Long userId) {
+        return Math.floorMod(userId.hashCode(), STRIPES);
+    }
+
+    // Rough heap estimate: object headers and fields plus two bytes per character
+    private static int weigh(Map<PageKey, Slice<TodoResponse>> pages) {
+        long bytes = 64;
+        for (Slice<TodoResponse> page : pages.values()) {
+            bytes += 128;
+            for (TodoResponse t : page.getContent()) {
+                bytes += 96 + 2L * (length(t.title()) + length(t.description()) + length(t.username()));
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+}
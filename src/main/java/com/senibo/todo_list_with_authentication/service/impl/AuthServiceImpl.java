@@ -1,22 +1,33 @@
 package com.senibo.todo_list_with_authentication.service.impl;
 
 import com.senibo.todo_list_with_authentication.dto.auth.AuthResponse;
+import com.senibo.todo_list_with_authentication.dto.auth.RefreshRequest;
 import com.senibo.todo_list_with_authentication.dto.auth.SigninRequest;
 import com.senibo.todo_list_with_authentication.dto.auth.SignupRequest;
 import com.senibo.todo_list_with_authentication.model.Role;
 import com.senibo.todo_list_with_authentication.model.User;
 import com.senibo.todo_list_with_authentication.repository.UserRepository;
 import com.senibo.todo_list_with_authentication.security.jwt.JwtUtils;
+import com.senibo.todo_list_with_authentication.security.jwt.TokenVersionRegistry;
+import com.senibo.todo_list_with_authentication.security.ratelimit.LoginRateLimiter;
 import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
 import com.senibo.todo_list_with_authentication.service.AuthService;
+import com.senibo.todo_list_with_authentication.service.auth.RefreshTokenStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -25,17 +36,14 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final UserRepository users;
     private final JwtUtils jwt;
+    private final TokenVersionRegistry tokenVersions;
+    private final LoginRateLimiter loginLimiter;
+    private final RefreshTokenStore refreshTokens;
 
-    @Transactional
+    // Not @Transactional: the hash is computed before saveAndFlush opens its own transaction, so
+    // no connection is held while waiting for a BCrypt worker
     @Override
     public void register(SignupRequest req) {
-        if (users.existsByUsername(req.username())) {
-            throw new IllegalArgumentException("Username taken");
-        }
-        if (users.existsByEmail(req.email())) {
-            throw new IllegalArgumentException(String.format("Email %s in use", req.email()));
-        }
-
         var user = User.builder()
                 .username(req.username())
                 .email(req.email())
@@ -43,20 +51,82 @@ public class AuthServiceImpl implements AuthService {
                 .role(Role.ROLE_USER)
                 .build();
 
-        users.save(user);
+        // One INSERT; the unique constraints on users decide duplicates, which also closes the
+        // race two concurrent signups had with the old exists-then-insert checks
+        try {
+            users.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateSignup(e, req);
+        }
 
         log.info("Signup success userId={} username={}", user.getId(), user.getUsername());
     }
 
+    private static RuntimeException duplicateSignup(DataIntegrityViolationException e, SignupRequest req) {
+        String constraint = e.getCause() instanceof ConstraintViolationException cve ? cve.getConstraintName() : null;
+        // Databases created by ddl-auto carry generated constraint names, so fall back to the
+        // "Key (column)=(value) already exists" detail
+        String detail = String.valueOf(e.getMostSpecificCause().getMessage());
+
+        if ("uk_users_username".equalsIgnoreCase(constraint) || detail.contains("(username)")) {
+            return new IllegalArgumentException("Username taken");
+        }
+        if ("uk_users_email".equalsIgnoreCase(constraint) || detail.contains("(email)")) {
+            return new IllegalArgumentException(String.format("Email %s in use", req.email()));
+        }
+        return e;
+    }
+
     @Override
-    public AuthResponse login(SigninRequest req) {
-        var auth = authManager.authenticate(
-                new UsernamePasswordAuthenticationToken(req.identifier(), req.password()));
+    public AuthResponse login(SigninRequest req, String clientIp) {
+        // Throttled attempts are rejected here, before they cost a BCrypt verification
+        loginLimiter.check(req.identifier(), clientIp);
+
+        Authentication auth;
+        try {
+            auth = authManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(req.identifier(), req.password()));
+        } catch (BadCredentialsException e) {
+            loginLimiter.onFailure(req.identifier());
+            throw e;
+        }
+        loginLimiter.onSuccess(req.identifier());
+
         var principal = (UserDetailsImpl) auth.getPrincipal();
         var token = jwt.generate(principal);
         var roles = principal.getAuthorities().stream().map(a -> a.getAuthority()).toList();
         log.info("Login success user={} roles={}", principal.getUsername(), roles);
-        return new AuthResponse(token, principal.getUsername(), roles);
+        return new AuthResponse(token, refreshTokens.issue(principal.getId()), principal.getUsername(), roles);
+    }
+
+    // One UPDATE ... RETURNING renews the session; no password hash, no separate user read.
+    // The reuse check only runs for tokens that failed, and its DELETE must survive the 401.
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    @Override
+    public AuthResponse refresh(RefreshRequest req) {
+        var rotation = refreshTokens.rotate(req.refreshToken()).orElseThrow(() -> {
+            refreshTokens.revokeReused(req.refreshToken()).ifPresent(userId -> {
+                // Whoever holds the newer token may be the thief: end the session and its access tokens
+                tokenVersions.revokeAll(userId);
+                log.warn("Refresh token reused, session revoked userId={}", userId);
+            });
+            return new BadCredentialsException("Invalid refresh token");
+        });
+
+        var owner = rotation.owner();
+        var principal = new UserDetailsImpl(owner.getId(), owner.getUsername(), owner.getEmail(), null,
+                                            List.of(new SimpleGrantedAuthority(owner.getRole())));
+        var roles = List.of(owner.getRole());
+        log.debug("Refresh success user={}", owner.getUsername());
+        return new AuthResponse(jwt.generate(principal), rotation.token(), owner.getUsername(), roles);
+    }
+
+    @Transactional
+    @Override
+    public void logout(UserDetailsImpl currentUser) {
+        tokenVersions.revokeAll(currentUser.getId());
+        refreshTokens.revokeAll(currentUser.getId());
+        log.info("Logout userId={} username={}", currentUser.getId(), currentUser.getUsername());
     }
 
 
@@ -0,0 +1,176 @@
+package com.senibo.todo_list_with_authentication.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoFileFormat;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoResponse;
+import com.senibo.todo_list_with_authentication.exception.ServiceUnavailableException;
+import com.senibo.todo_list_with_authentication.repository.TodoRepository;
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+import com.senibo.todo_list_with_authentication.service.TodoExportService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class TodoExportServiceImpl implements TodoExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+    // Leading characters a spreadsheet would evaluate; the import strips the quote put before them
+    static final String FORMULA_START = "=+-@\t\r";
+
+    private final TodoRepository todoRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTx;
+    // Each running export pins a database connection for its whole duration
+    private final Semaphore running;
+    private final Counter rows;
+
+    public TodoExportServiceImpl(TodoRepository todoRepository,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager txManager,
+                                 MeterRegistry registry,
+                                 @Value("${spring.app.exportMaxConcurrent:4}") int maxConcurrent) {
+        this.todoRepository = todoRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.running = new Semaphore(maxConcurrent);
+        this.rows = Counter.builder("todo.export.rows").register(registry);
+    }
+
+    @Override
+    public Export export(UserDetailsImpl currentUser, boolean isAdmin, TodoFileFormat format) {
+        if (!running.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many exports in progress", Duration.ofSeconds(30));
+        }
+        Long userId = currentUser.getId();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                running.release();
+            }
+        };
+        return new Export() {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                stream(userId, isAdmin, format, out, release);
+            }
+
+            @Override
+            public void release() {
+                release.run();
+            }
+        };
+    }
+
+    private void stream(Long userId, boolean isAdmin, TodoFileFormat format, OutputStream out, Runnable release)
+            throws IOException {
+        try {
+            // Runs on the async response thread. The transaction keeps the JDBC cursor open,
+            // and the PostgreSQL driver only honours the fetch size inside one.
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<TodoResponse> todos = isAdmin
+                        ? todoRepository.streamAllResponses()
+                        : todoRepository.streamResponsesByUserId(userId)) {
+                    write(format, todos.iterator(), out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.debug("Todo export aborted: {}", e.getMessage());
+            throw e.getCause();
+        } finally {
+            release.run();
+        }
+    }
+
+    private void write(TodoFileFormat format, Iterator<TodoResponse> todos, OutputStream out) throws IOException {
+        switch (format) {
+            case NDJSON -> writeNdjson(todos, out);
+            case CSV -> writeCsv(todos, out);
+        }
+    }
+
+    private void writeNdjson(Iterator<TodoResponse> todos, OutputStream out) throws IOException {
+        SequenceWriter json = objectMapper.writerFor(TodoResponse.class)
+                                          .withRootValueSeparator("\n")
+                                          .writeValues(out);
+        long n = 0;
+        while (todos.hasNext()) {
+            json.write(todos.next());
+            if (++n % FLUSH_EVERY == 0) {
+                json.flush();
+            }
+        }
+        if (n > 0) {
+            out.write('\n');
+        }
+        json.flush();
+        rows.increment(n);
+    }
+
+    private void writeCsv(Iterator<TodoResponse> todos, OutputStream out) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        csv.write("id,title,description,userId,username,version,completed,dueDate,priority,createdAt\r\n");
+        long n = 0;
+        while (todos.hasNext()) {
+            TodoResponse t = todos.next();
+            csv.write(String.valueOf(t.id()));
+            csv.write(',');
+            csv.write(csvField(t.title()));
+            csv.write(',');
+            csv.write(csvField(t.description()));
+            csv.write(',');
+            csv.write(String.valueOf(t.userId()));
+            csv.write(',');
+            csv.write(csvField(t.username()));
+            csv.write(',');
+            csv.write(String.valueOf(t.version()));
+            csv.write(',');
+            csv.write(String.valueOf(t.completed()));
+            csv.write(',');
+            if (t.dueDate() != null) csv.write(t.dueDate().toString());
+            csv.write(',');
+            csv.write(t.priority().name());
+            csv.write(',');
+            csv.write(String.valueOf(t.createdAt()));
+            csv.write("\r\n");
+            if (++n % FLUSH_EVERY == 0) {
+                csv.flush();
+            }
+        }
+        csv.flush();
+        rows.increment(n);
+    }
+
+    // RFC 4180 quoting; a leading formula character is neutralised so spreadsheets don't evaluate it.
+    // A leading quote is doubled too, so the import can tell the two apart and restore the value.
+    static String csvField(String value) {
+        if (value == null || value.isEmpty()) return "";
+
+        char first = value.charAt(0);
+        String v = FORMULA_START.indexOf(first) >= 0 || first == '\'' ? "'" + value : value;
+        boolean quote = v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0;
+        return quote ? '"' + v.replace("\"", "\"\"") + '"' : v;
+    }
+}
@@ -0,0 +1,372 @@
+package com.senibo.todo_list_with_authentication.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.senibo.todo_list_with_authentication.dto.todo.CreateTodoRequest;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoChangeEvent;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoFileFormat;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoImportResult;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoResponse;
+import com.senibo.todo_list_with_authentication.exception.ServiceUnavailableException;
+import com.senibo.todo_list_with_authentication.model.Priority;
+import com.senibo.todo_list_with_authentication.model.Todo;
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+import com.senibo.todo_list_with_authentication.service.TodoImportService;
+import com.senibo.todo_list_with_authentication.service.cache.TodoListCache;
+import com.senibo.todo_list_with_authentication.service.io.BoundedLineReader;
+import com.senibo.todo_list_with_authentication.service.io.CsvRecordReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+
+@Slf4j
+@Service
+public class TodoImportServiceImpl implements TodoImportService {
+
+    private static final String INSERT = "insert into todos " +
+            "(id, title, description, user_id, due_date, priority, completed, created_at, version, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, 0, now())";
+    private static final int MAX_LINE_LENGTH = 8192;
+    private static final int MAX_FIELD_LENGTH = 4096;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ObjectReader rowReader;
+    private final Validator validator;
+    private final TodoListCache listCache;
+    private final ApplicationEventPublisher events;
+    private final Semaphore running;
+    private final int chunkSize;
+    private final long maxRows;
+    private final int maxErrors;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    public TodoImportServiceImpl(JdbcTemplate jdbc,
+                                 PlatformTransactionManager txManager,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 TodoListCache listCache,
+                                 ApplicationEventPublisher events,
+                                 MeterRegistry registry,
+                                 @Value("${spring.app.importChunkSize:1000}") int chunkSize,
+                                 @Value("${spring.app.importMaxRows:100000}") long maxRows,
+                                 @Value("${spring.app.importMaxErrors:1000}") int maxErrors,
+                                 @Value("${spring.app.importMaxConcurrent:2}") int maxConcurrent) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.rowReader = objectMapper.readerFor(NdjsonRow.class);
+        this.validator = validator;
+        this.listCache = listCache;
+        this.events = events;
+        this.running = new Semaphore(maxConcurrent);
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+        this.maxErrors = maxErrors;
+        this.importedRows = Counter.builder("todo.import.rows").tag("result", "imported").register(registry);
+        this.rejectedRows = Counter.builder("todo.import.rows").tag("result", "rejected").register(registry);
+    }
+
+    @Override
+    public TodoImportResult importTodos(InputStream in, TodoFileFormat format, UserDetailsImpl currentUser) throws IOException {
+        if (!running.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many imports in progress", Duration.ofSeconds(30));
+        }
+        try {
+            Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+            Run run = new Run(currentUser);
+            try {
+                try {
+                    switch (format) {
+                        case NDJSON -> readNdjson(reader, run);
+                        case CSV -> readCsv(reader, run);
+                    }
+                } catch (IllegalArgumentException e) {
+                    // Unreadable input or row limit: the rows read before it are still saved
+                    run.aborted = e.getMessage();
+                }
+                run.flush();
+            } catch (DataAccessException e) {
+                log.warn("Todo import for user {} failed", currentUser.getId(), e);
+                run.abort("Rows from line " + run.chunkStartLine() + " on could not be saved");
+            }
+            return run.result();
+        } finally {
+            running.release();
+        }
+    }
+
+    private void readNdjson(Reader reader, Run run) throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(reader, MAX_LINE_LENGTH);
+        for (String line; (line = lines.next()) != null; ) {
+            if (lines.line() == 1) line = stripBom(line);
+            if (line.isBlank()) continue;
+            if (lines.truncated()) {
+                run.reject(lines.line(), List.of("Line longer than " + MAX_LINE_LENGTH + " characters"));
+                continue;
+            }
+
+            NdjsonRow row;
+            try {
+                row = rowReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                run.reject(lines.line(), List.of("Invalid JSON: " + e.getOriginalMessage()));
+                continue;
+            }
+            if (row == null) {
+                run.reject(lines.line(), List.of("Expected a JSON object"));
+                continue;
+            }
+            run.accept(lines.line(), row.request(), Boolean.TRUE.equals(row.completed()));
+        }
+    }
+
+    // The create payload plus the completed flag, which an export carries along
+    private record NdjsonRow(String title, String description, LocalDate dueDate, Priority priority, Boolean completed) {
+        CreateTodoRequest request() {
+            return new CreateTodoRequest(title, description, dueDate, priority);
+        }
+    }
+
+    // Columns are matched by header name, so an export file can be imported as is
+    private void readCsv(Reader reader, Run run) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader, MAX_FIELD_LENGTH);
+        List<String> header = csv.next();
+        if (header == null) return;
+
+        int title = -1;
+        int description = -1;
+        int dueDate = -1;
+        int priority = -1;
+        int completed = -1;
+        for (int i = 0; i < header.size(); i++) {
+            String name = (i == 0 ? stripBom(header.get(i)) : header.get(i)).trim().toLowerCase(Locale.ROOT);
+            if (name.equals("title")) title = i;
+            if (name.equals("description")) description = i;
+            if (name.equals("duedate")) dueDate = i;
+            if (name.equals("priority")) priority = i;
+            if (name.equals("completed")) completed = i;
+        }
+        if (title < 0) {
+            throw new IllegalArgumentException("CSV header must contain a title column");
+        }
+
+        for (List<String> record; (record = csv.next()) != null; ) {
+            if (record.size() == 1 && record.get(0).isBlank()) continue;
+            List<String> problems = new ArrayList<>(0);
+            LocalDate due = null;
+            Priority prio = null;
+            boolean done = false;
+            String value = field(record, dueDate);
+            if (value != null && !value.isBlank()) {
+                try {
+                    due = LocalDate.parse(value.trim());
+                } catch (DateTimeParseException e) {
+                    problems.add("dueDate: must be a date like 2025-06-30");
+                }
+            }
+            value = field(record, priority);
+            if (value != null && !value.isBlank()) {
+                try {
+                    prio = Priority.valueOf(value.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    problems.add("priority: must be one of " + Arrays.toString(Priority.values()));
+                }
+            }
+            value = field(record, completed);
+            if (value != null && !value.isBlank()) {
+                value = value.trim();
+                if (value.equalsIgnoreCase("true")) {
+                    done = true;
+                } else if (!value.equalsIgnoreCase("false")) {
+                    problems.add("completed: must be true or false");
+                }
+            }
+            if (!problems.isEmpty()) {
+                run.reject(csv.recordLine(), problems);
+                continue;
+            }
+            run.accept(csv.recordLine(),
+                       new CreateTodoRequest(text(field(record, title)), text(field(record, description)), due, prio),
+                       done);
+        }
+    }
+
+    private static String field(List<String> record, int index) {
+        return index >= 0 && index < record.size() ? record.get(index) : null;
+    }
+
+    // Undoes the export's formula guard: a quote put before a formula character or before a quote
+    private static String text(String value) {
+        if (value == null || value.length() < 2 || value.charAt(0) != '\'') return value;
+        char next = value.charAt(1);
+        return TodoExportServiceImpl.FORMULA_START.indexOf(next) >= 0 || next == '\'' ? value.substring(1) : value;
+    }
+
+    private static String stripBom(String s) {
+        return !s.isEmpty() && s.charAt(0) == '\uFEFF' ? s.substring(1) : s;
+    }
+
+    // Ids come from todos_seq in the same blocks Hibernate's pooled optimizer uses: value v covers (v - 50, v]
+    private long[] allocateIds(int count) {
+        int blocks = (count + Todo.ID_ALLOCATION_SIZE - 1) / Todo.ID_ALLOCATION_SIZE;
+        List<Long> highs = jdbc.queryForList("select nextval('todos_seq') from generate_series(1, ?)", Long.class, blocks);
+
+        long[] ids = new long[count];
+        int i = 0;
+        for (long high : highs) {
+            for (long id = high - Todo.ID_ALLOCATION_SIZE + 1; id <= high && i < count; id++) {
+                ids[i++] = id;
+            }
+        }
+        return ids;
+    }
+
+    private record Pending(long line, String title, String description, LocalDate dueDate, Priority priority, boolean completed) {}
+
+    // State of one import; memory is bounded by the chunk size and the error cap
+    private final class Run {
+        final Long userId;
+        final String username;
+        final List<Pending> chunk = new ArrayList<>(chunkSize);
+        final List<TodoImportResult.RowError> errors = new ArrayList<>();
+        long rows;
+        long imported;
+        long failed;
+        boolean errorsTruncated;
+        String aborted;
+
+        Run(UserDetailsImpl user) {
+            this.userId = user.getId();
+            this.username = user.getUsername();
+        }
+
+        void accept(long line, CreateTodoRequest row, boolean completed) {
+            if (++rows > maxRows) {
+                throw new IllegalArgumentException("Import stopped at line " + line + ": more than " + maxRows + " rows");
+            }
+            var violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                reject(line, violations.stream().map(TodoImportServiceImpl::describe).sorted().toList());
+                return;
+            }
+            chunk.add(new Pending(line,
+                                  row.title(),
+                                  row.description(),
+                                  row.dueDate(),
+                                  row.priority() == null ? Priority.NORMAL : row.priority(),
+                                  completed));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, List<String> messages) {
+            failed++;
+            rejectedRows.increment();
+            if (errors.size() < maxErrors) {
+                errors.add(new TodoImportResult.RowError(line, messages));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        // One transaction per chunk: a failure later in the file keeps the chunks already committed
+        void flush() {
+            if (chunk.isEmpty()) return;
+
+            long[] ids = allocateIds(chunk.size());
+            // Bound explicitly (at the column's precision) so the published todos carry the stored value
+            Instant createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+            tx.executeWithoutResult(status -> jdbc.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Pending p = chunk.get(i);
+                    ps.setLong(1, ids[i]);
+                    ps.setString(2, p.title());
+                    ps.setString(3, p.description());
+                    ps.setLong(4, userId);
+                    ps.setObject(5, p.dueDate());
+                    ps.setShort(6, (short) p.priority().ordinal());
+                    ps.setBoolean(7, p.completed());
+                    ps.setObject(8, createdAt.atOffset(ZoneOffset.UTC));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            }));
+
+            List<TodoResponse> created = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Pending p = chunk.get(i);
+                created.add(new TodoResponse(ids[i],
+                                             p.title(),
+                                             p.description(),
+                                             userId,
+                                             username,
+                                             0L,
+                                             p.completed(),
+                                             p.dueDate(),
+                                             p.priority(),
+                                             createdAt));
+            }
+            imported += chunk.size();
+            importedRows.increment(chunk.size());
+            chunk.clear();
+
+            listCache.evict(userId);
+            events.publishEvent(TodoChangeEvent.of(TodoChangeEvent.Type.CREATED, userId, created));
+        }
+
+        long chunkStartLine() {
+            return chunk.isEmpty() ? 0 : chunk.get(0).line();
+        }
+
+        void abort(String reason) {
+            failed += chunk.size();
+            chunk.clear();
+            aborted = reason;
+        }
+
+        TodoImportResult result() {
+            return new TodoImportResult(imported, failed, errors, errorsTruncated, aborted);
+        }
+    }
+
+    private static String describe(ConstraintViolation<CreateTodoRequest> v) {
+        return v.getPropertyPath() + ": " + v.getMessage();
+    }
+}
@@ -1,16 +1,52 @@
 package com.senibo.todo_list_with_authentication.service.impl;
 
+import com.senibo.todo_list_with_authentication.dto.todo.BatchUpdateTodoRequest;
+import com.senibo.todo_list_with_authentication.dto.todo.CreateTodoRequest;
+import com.senibo.todo_list_with_authentication.dto.todo.PatchTodoRequest;
+import com.senibo.todo_list_with_authentication.dto.todo.SearchCursor;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoBatchResult;
+import com.senibo.todo_list_with_authentication.dto.todo.SyncToken;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoChangeEvent;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoChangesResponse;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoFilter;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoMapper;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoResponse;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoSearchResponse;
+import com.senibo.todo_list_with_authentication.exception.SyncTokenExpiredException;
+import com.senibo.todo_list_with_authentication.model.Priority;
 import com.senibo.todo_list_with_authentication.model.Todo;
 import com.senibo.todo_list_with_authentication.model.User;
 import com.senibo.todo_list_with_authentication.repository.TodoRepository;
+import com.senibo.todo_list_with_authentication.repository.TodoSpecifications;
 import com.senibo.todo_list_with_authentication.repository.UserRepository;
 import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
 import com.senibo.todo_list_with_authentication.service.TodoService;
+import com.senibo.todo_list_with_authentication.service.cache.TodoListCache;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -18,50 +54,427 @@ public class TodoServiceImpl implements TodoService {
 
     private final TodoRepository todoRepository;
     private final UserRepository userRepository;
+    private final TodoListCache listCache;
+    private final ApplicationEventPublisher events;
+
+    // Sentinel understood by the conditional repository statements: skip the version check
+    private static final long ANY_VERSION = -1L;
+
+    private static final Set<String> FILTER_SORT_PROPERTIES = Set.of("id", "createdAt", "dueDate", "priority");
+
+    @Override
+    @Transactional
+    public TodoResponse createTodo(CreateTodoRequest req, UserDetailsImpl currentUser) {
+        // A reference is enough to set the FK; a missing user surfaces as an FK violation on insert
+        User user = userRepository.getReferenceById(currentUser.getId());
+
+        Todo todo = newTodo(req, user);
+
+        try {
+            todoRepository.saveAndFlush(todo);
+        } catch (DataIntegrityViolationException e) {
+            if (isMissingOwner(e)) {
+                throw new IllegalArgumentException("User not found");
+            }
+            throw e;
+        }
+        touch(currentUser.getId());
+        var created = TodoMapper.toResponse(todo, currentUser.getId(), currentUser.getUsername());
+        events.publishEvent(TodoChangeEvent.of(TodoChangeEvent.Type.CREATED, currentUser.getId(), List.of(created)));
+        return created;
+    }
+
+    // Only the owner FK means the user is gone; any other violation is a real error
+    private static boolean isMissingOwner(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException cve ? cve.getConstraintName() : null;
+        // Databases created by ddl-auto carry a generated FK name, so fall back to the
+        // "Key (user_id)=(...) is not present in table" detail
+        String detail = String.valueOf(e.getMostSpecificCause().getMessage());
+        return "todos_user_id_fkey".equalsIgnoreCase(constraint)
+                || (detail.contains("(user_id)") && detail.contains("is not present"));
+    }
 
     @Override
-    public Todo createTodo(String title, String description, UserDetailsImpl currentUser) {
-        User user = userRepository.findById(currentUser.getId())
+    public long getListVersion(UserDetailsImpl currentUser) {
+        return userRepository.findTodosVersion(currentUser.getId()).orElse(0L);
+    }
+
+    @Override
+    public Page<TodoResponse> getTodos(UserDetailsImpl currentUser, boolean isAdmin, Pageable pageable) {
+        if (isAdmin) return todoRepository.findAllResponses(pageable);
+        return listCache.get(currentUser.getId(),
+                             TodoListCache.PageKey.of(pageable),
+                             () -> todoRepository.findResponsesByUserId(currentUser.getId(), pageable));
+    }
+
+    @Override
+    public Slice<TodoResponse> findTodos(UserDetailsImpl currentUser,
+                                         boolean isAdmin,
+                                         TodoFilter filter,
+                                         Pageable pageable) {
+        Specification<Todo> spec = TodoSpecifications.matching(filter);
+        if (!isAdmin) {
+            spec = TodoSpecifications.ownedBy(currentUser.getId()).and(spec);
+        }
+        Pageable ordered = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), filterSort(pageable.getSort()));
+        return todoRepository.findResponses(spec, ordered);
+    }
+
+    // Only orders an index exists for (see V6__todo_status_fields.sql), with id as the tiebreak in
+    // the direction of the last key so one forward or backward index scan returns them
+    private static Sort filterSort(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            if (!FILTER_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort by " + order.getProperty());
+            }
+            orders.add(order);
+            if (order.getProperty().equals("id")) break;
+        }
+        if (orders.isEmpty()) {
+            return Sort.by(Sort.Direction.DESC, "id");
+        }
+        Sort.Order last = orders.get(orders.size() - 1);
+        if (!last.getProperty().equals("id")) {
+            orders.add(new Sort.Order(last.getDirection(), "id"));
+        }
+        return Sort.by(orders);
+    }
+
+    @Override
+    public Slice<TodoResponse> getTodosAfter(UserDetailsImpl currentUser, boolean isAdmin, Long afterId, int limit) {
+        if (!isAdmin && afterId == null) {
+            return listCache.get(currentUser.getId(),
+                                 TodoListCache.PageKey.firstCursorPage(limit),
+                                 () -> loadTodosAfter(currentUser, false, null, limit));
+        }
+        return loadTodosAfter(currentUser, isAdmin, afterId, limit);
+    }
+
+    private Slice<TodoResponse> loadTodosAfter(UserDetailsImpl currentUser, boolean isAdmin, Long afterId, int limit) {
+        Long cursor = afterId == null ? Long.MAX_VALUE : afterId;
+        // Fetch one extra row to learn whether another page exists
+        Limit probe = Limit.of(limit + 1);
+
+        List<TodoResponse> rows = isAdmin
+                ? todoRepository.findAllResponsesBefore(cursor, probe)
+                : todoRepository.findResponsesByUserIdBefore(currentUser.getId(), cursor, probe);
+
+        boolean hasNext = rows.size() > limit;
+        List<TodoResponse> content = hasNext ? rows.subList(0, limit) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, limit), hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TodoChangesResponse getChanges(UserDetailsImpl currentUser, long since, int limit) {
+        var state = userRepository.findSyncState(currentUser.getId())
                                   .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        if (since > 0 && (since < state.getChangesFloor() || since > state.getTodosVersion())) {
+            throw new SyncTokenExpiredException("Sync token expired, reload all todos");
+        }
+
+        // One extra row tells whether the client has to come back for more
+        var rows = todoRepository.findChangesSince(currentUser.getId(), since, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<TodoResponse> upserted = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (var row : rows) {
+            if (row.isDeleted()) {
+                deleted.add(row.getId());
+            } else {
+                upserted.add(TodoMapper.toResponse(row, currentUser.getId(), currentUser.getUsername()));
+            }
+        }
+        long next = rows.isEmpty() ? since : rows.get(rows.size() - 1).getChangeSeq();
+        return new TodoChangesResponse(upserted, deleted, SyncToken.encode(next), hasMore);
+    }
+
+    @Override
+    public TodoSearchResponse searchTodos(UserDetailsImpl currentUser, String query, SearchCursor after, int limit) {
+        var rows = todoRepository.search(currentUser.getId(), query, after.score(), after.id(), limit + 1);
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) {
+            rows = rows.subList(0, limit);
+        }
 
-        Todo todo = Todo.builder().title(title).description(description).user(user).build();
+        List<TodoResponse> content = rows.stream()
+                                         .map(r -> TodoMapper.toResponse(r, currentUser.getId(), currentUser.getUsername()))
+                                         .toList();
+        String next = null;
+        if (hasNext) {
+            var last = rows.get(rows.size() - 1);
+            next = new SearchCursor(last.getScore(), last.getId()).encode();
+        }
+        return new TodoSearchResponse(content, content.size(), hasNext, next);
+    }
 
-        return todoRepository.save(todo);
+    @Override
+    public TodoResponse getTodo(Long id, UserDetailsImpl currentUser, boolean isAdmin) {
+        var todo = isAdmin
+                ? todoRepository.findResponseById(id)
+                : todoRepository.findResponseByIdAndUserId(id, currentUser.getId());
+        return todo.orElseThrow(() -> rejected(id, currentUser, "You are not allowed to view this todo"));
     }
 
     @Override
-    public Page<Todo> getTodos(UserDetailsImpl currentUser, boolean isAdmin, Pageable pageable) {
-        if (isAdmin) return todoRepository.findAll(pageable);
-        return todoRepository.findByUserId(currentUser.getId(), pageable);
+    @Transactional
+    public TodoResponse updateTodo(Long id,
+                                   CreateTodoRequest req,
+                                   Long expectedVersion,
+                                   UserDetailsImpl currentUser,
+                                   boolean isAdmin) {
+        if (isAdmin) {
+            // Admins may edit any todo, and the response needs the real owner
+            Todo todo = todoRepository.findById(id)
+                                      .orElseThrow(() -> new IllegalArgumentException("Todo not found"));
+            if (expectedVersion != null && !expectedVersion.equals(todo.getVersion())) {
+                throw new OptimisticLockingFailureException("Todo has been modified");
+            }
+            todo.setTitle(req.title());
+            todo.setDescription(req.description());
+            if (req.dueDate() != null) todo.setDueDate(req.dueDate());
+            if (req.priority() != null) todo.setPriority(req.priority());
+            // Flush now so the response carries the incremented version
+            todoRepository.saveAndFlush(todo);
+            return updated(todo.getUser().getId(), TodoMapper.toResponse(todo));
+        }
+
+        // Title and description are always set here; an absent dueDate or priority is kept
+        var row = todoRepository.patchOwned(id,
+                                            currentUser.getId(),
+                                            req.title(),
+                                            req.description(),
+                                            null,
+                                            req.dueDate(),
+                                            false,
+                                            ordinal(req.priority()),
+                                            expectedVersion == null ? ANY_VERSION : expectedVersion)
+                                .orElseThrow(() -> rejected(id, currentUser, "You are not allowed to update this todo"));
+        return updated(currentUser.getId(), TodoMapper.toResponse(row, currentUser.getId(), currentUser.getUsername()));
     }
 
     @Override
-    public Todo updateTodo(Long id,
-                           String title,
-                           String description,
-                           UserDetailsImpl currentUser,
-                           boolean isAdmin) {
-        Todo todo = todoRepository.findById(id)
-                                  .orElseThrow(() -> new IllegalArgumentException("Todo not found"));
+    @Transactional
+    public TodoResponse patchTodo(Long id,
+                                  PatchTodoRequest patch,
+                                  Long expectedVersion,
+                                  UserDetailsImpl currentUser,
+                                  boolean isAdmin) {
+        if (isAdmin) {
+            Todo todo = todoRepository.findById(id)
+                                      .orElseThrow(() -> new IllegalArgumentException("Todo not found"));
+            if (expectedVersion != null && !expectedVersion.equals(todo.getVersion())) {
+                throw new OptimisticLockingFailureException("Todo has been modified");
+            }
+            if (patch.title() != null) todo.setTitle(patch.title());
+            if (patch.description() != null) todo.setDescription(patch.description());
+            if (patch.completed() != null) todo.setCompleted(patch.completed());
+            if (patch.dueDate() != null || patch.clearsDueDate()) todo.setDueDate(patch.dueDate());
+            if (patch.priority() != null) todo.setPriority(patch.priority());
+            todoRepository.saveAndFlush(todo);
+            return updated(todo.getUser().getId(), TodoMapper.toResponse(todo));
+        }
+
+        // One statement writes the supplied columns and hands back the full row state
+        var row = todoRepository.patchOwned(id,
+                                            currentUser.getId(),
+                                            patch.title(),
+                                            patch.description(),
+                                            patch.completed(),
+                                            patch.dueDate(),
+                                            patch.clearsDueDate(),
+                                            ordinal(patch.priority()),
+                                            expectedVersion == null ? ANY_VERSION : expectedVersion)
+                                .orElseThrow(() -> rejected(id, currentUser, "You are not allowed to update this todo"));
+        return updated(currentUser.getId(), TodoMapper.toResponse(row, currentUser.getId(), currentUser.getUsername()));
+    }
+
+    @Override
+    @Transactional
+    public void deleteTodo(Long id, Long expectedVersion, UserDetailsImpl currentUser, boolean isAdmin) {
+        long expected = expectedVersion == null ? ANY_VERSION : expectedVersion;
+        if (isAdmin) {
+            // Admins need the owner id to invalidate the right cached list
+            Long ownerId = todoRepository.findOwnerVersionById(id)
+                                         .map(TodoRepository.OwnerVersion::getOwnerId)
+                                         .orElseThrow(() -> new IllegalArgumentException("Todo not found"));
+            if (todoRepository.deleteAnyOwner(id, expected) == 0) {
+                throw rejected(id, currentUser, null);
+            }
+            touch(ownerId);
+            events.publishEvent(TodoChangeEvent.deleted(ownerId, List.of(id)));
+            return;
+        }
 
-        if (!isAdmin && !todo.getUser().getId().equals(currentUser.getId())) {
-            throw new AccessDeniedException("You are not allowed to update this todo");
+        int deleted = todoRepository.deleteOwned(id, currentUser.getId(), expected);
+        if (deleted == 0) {
+            throw rejected(id, currentUser, "You are not allowed to delete this todo");
         }
+        touch(currentUser.getId());
+        events.publishEvent(TodoChangeEvent.deleted(currentUser.getId(), List.of(id)));
+    }
+
+    // Only reached when a conditional statement matched nothing: tell 404, 403 and 412 apart
+    private RuntimeException rejected(Long id, UserDetailsImpl currentUser, String forbiddenMessage) {
+        var row = todoRepository.findOwnerVersionById(id);
+        if (row.isEmpty()) {
+            return new IllegalArgumentException("Todo not found");
+        }
+        if (forbiddenMessage != null && !row.get().getOwnerId().equals(currentUser.getId())) {
+            return new AccessDeniedException(forbiddenMessage);
+        }
+        return new OptimisticLockingFailureException("Todo has been modified");
+    }
 
-        todo.setTitle(title);
-        todo.setDescription(description);
-        return todoRepository.save(todo);
+    // The todos triggers move the owner's list version; this drops their cached pages
+    private void touch(Long ownerId) {
+        listCache.evict(ownerId);
+    }
+
+    private TodoResponse updated(Long ownerId, TodoResponse todo) {
+        touch(ownerId);
+        events.publishEvent(TodoChangeEvent.of(TodoChangeEvent.Type.UPDATED, ownerId, List.of(todo)));
+        return todo;
     }
 
     @Override
-    public void deleteTodo(Long id, UserDetailsImpl currentUser, boolean isAdmin) {
-        Todo todo = todoRepository.findById(id)
-                                  .orElseThrow(() -> new IllegalArgumentException("Todo not found"));
+    @Transactional
+    public List<TodoBatchResult> createTodos(List<CreateTodoRequest> items, UserDetailsImpl currentUser) {
+        User user = userRepository.getReferenceById(currentUser.getId());
+
+        List<Todo> todos = items.stream().map(i -> newTodo(i, user)).toList();
+        // Ids come from the pooled sequence, so the inserts are flushed as JDBC batches
+        todoRepository.saveAll(todos);
+        touch(currentUser.getId());
+
+        List<TodoResponse> created = todos.stream()
+                                          .map(t -> TodoMapper.toResponse(t, currentUser.getId(), currentUser.getUsername()))
+                                          .toList();
+        events.publishEvent(TodoChangeEvent.of(TodoChangeEvent.Type.CREATED, currentUser.getId(), created));
 
-        if (!isAdmin && !todo.getUser().getId().equals(currentUser.getId())) {
-            throw new AccessDeniedException("You are not allowed to delete this todo");
+        List<TodoBatchResult> results = new ArrayList<>(created.size());
+        for (int i = 0; i < created.size(); i++) {
+            results.add(TodoBatchResult.ok(i, TodoBatchResult.Status.CREATED, created.get(i)));
         }
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public List<TodoBatchResult> updateTodos(List<BatchUpdateTodoRequest.Item> items,
+                                             UserDetailsImpl currentUser,
+                                             boolean isAdmin) {
+        Map<Long, Todo> found = findAllById(items.stream().map(BatchUpdateTodoRequest.Item::id).toList());
+
+        Todo[] updated = new Todo[items.size()];
+        Set<Long> owners = new HashSet<>();
+        List<TodoBatchResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+            Todo todo = found.get(item.id());
+            if (todo == null) {
+                results.add(TodoBatchResult.notFound(i, item.id()));
+            } else if (!isAdmin && !todo.getUser().getId().equals(currentUser.getId())) {
+                results.add(TodoBatchResult.forbidden(i, item.id()));
+            } else {
+                updated[i] = todo;
+                owners.add(todo.getUser().getId());
+                results.add(null);
+            }
+        }
+
+        // An admin batch can span owners, and the UPDATEs go out in todo id order. Locked before
+        // any entity is dirty: the native query flushes pending changes first.
+        if (!owners.isEmpty()) {
+            todoRepository.lockOwners(owners);
+        }
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] != null) {
+                updated[i].setTitle(items.get(i).title());
+                updated[i].setDescription(items.get(i).description());
+            }
+        }
+        // Dirty checking sends batched UPDATEs here; the responses need the versions they produce
+        todoRepository.flush();
+        Map<Long, List<TodoResponse>> byOwner = new HashMap<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] != null) {
+                TodoResponse todo = toResponse(updated[i], currentUser);
+                byOwner.computeIfAbsent(todo.userId(), k -> new ArrayList<>()).add(todo);
+                results.set(i, TodoBatchResult.ok(i, TodoBatchResult.Status.UPDATED, todo));
+            }
+        }
+        byOwner.forEach((ownerId, todos) -> {
+            touch(ownerId);
+            events.publishEvent(TodoChangeEvent.of(TodoChangeEvent.Type.UPDATED, ownerId, todos));
+        });
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public List<TodoBatchResult> deleteTodos(List<Long> ids, UserDetailsImpl currentUser, boolean isAdmin) {
+        Map<Long, Todo> found = findAllById(ids);
+
+        List<TodoBatchResult> results = new ArrayList<>(ids.size());
+        List<Long> deletable = new ArrayList<>();
+        Map<Long, List<Long>> byOwner = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            Todo todo = found.get(id);
+            if (todo == null) {
+                results.add(TodoBatchResult.notFound(i, id));
+            } else if (!isAdmin && !todo.getUser().getId().equals(currentUser.getId())) {
+                results.add(TodoBatchResult.forbidden(i, id));
+            } else {
+                deletable.add(id);
+                byOwner.computeIfAbsent(todo.getUser().getId(), k -> new ArrayList<>()).add(id);
+                results.add(TodoBatchResult.deleted(i, id));
+            }
+        }
+
+        if (!deletable.isEmpty()) {
+            // Before the DELETE locks any row, as updateTodos does
+            todoRepository.lockOwners(byOwner.keySet());
+            todoRepository.deleteAllByIdInBatch(deletable);
+        }
+        byOwner.forEach((ownerId, deleted) -> {
+            touch(ownerId);
+            events.publishEvent(TodoChangeEvent.deleted(ownerId, deleted));
+        });
+        return results;
+    }
+
+    private static Short ordinal(Priority priority) {
+        return priority == null ? null : (short) priority.ordinal();
+    }
+
+    private static Todo newTodo(CreateTodoRequest req, User user) {
+        return Todo.builder()
+                   .title(req.title())
+                   .description(req.description())
+                   .dueDate(req.dueDate())
+                   .priority(req.priority() == null ? Priority.NORMAL : req.priority())
+                   .user(user)
+                   .build();
+    }
+
+    // Avoids initialising the owner proxy when the caller is the owner
+    private static TodoResponse toResponse(Todo todo, UserDetailsImpl currentUser) {
+        Long ownerId = todo.getUser().getId();
+        return ownerId.equals(currentUser.getId())
+                ? TodoMapper.toResponse(todo, ownerId, currentUser.getUsername())
+                : TodoMapper.toResponse(todo);
+    }
 
-        todoRepository.delete(todo);
+    private Map<Long, Todo> findAllById(List<Long> ids) {
+        return todoRepository.findAllById(ids)
+                             .stream()
+                             .collect(Collectors.toMap(Todo::getId, Function.identity()));
     }
 }
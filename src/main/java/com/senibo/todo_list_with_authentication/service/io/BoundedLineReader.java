@@ -0,0 +1,62 @@
+package com.senibo.todo_list_with_authentication.service.io;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads lines like {@link java.io.BufferedReader#readLine()}, but keeps at most
+ * {@code maxLength} characters of each; the rest of an overlong line is skipped.
+ */
+public class BoundedLineReader {
+
+    private final Reader in;
+    private final int maxLength;
+    private final StringBuilder buffer = new StringBuilder();
+    private long line;
+    private boolean truncated;
+
+    public BoundedLineReader(Reader in, int maxLength) {
+        this.in = in;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Next line without its terminator, or null at end of input.
+     */
+    public String next() throws IOException {
+        buffer.setLength(0);
+        truncated = false;
+        int c = in.read();
+        if (c == -1) return null;
+
+        line++;
+        while (c != -1 && c != '\n') {
+            // One slot past the limit for the CR of a CRLF, which is dropped below
+            if (buffer.length() < maxLength || (c == '\r' && buffer.length() == maxLength)) {
+                buffer.append((char) c);
+            } else {
+                truncated = true;
+            }
+            c = in.read();
+        }
+        int end = buffer.length();
+        if (end > 0 && buffer.charAt(end - 1) == '\r') {
+            buffer.setLength(end - 1);
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * 1-based number of the last line returned.
+     */
+    public long line() {
+        return line;
+    }
+
+    /**
+     * Whether the last line was longer than the limit.
+     */
+    public boolean truncated() {
+        return truncated;
+    }
+}
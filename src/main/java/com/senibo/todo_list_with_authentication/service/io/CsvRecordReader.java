@@ -0,0 +1,103 @@
+package com.senibo.todo_list_with_authentication.service.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: one record at a time, quoted fields may contain commas,
+ * doubled quotes and line breaks. Field length is capped so a broken quote cannot buffer
+ * the rest of the upload.
+ */
+public class CsvRecordReader {
+
+    private final Reader in;
+    private final int maxFieldLength;
+    private long line = 1;
+    private long recordLine;
+    private int pushedBack = -2;
+
+    public CsvRecordReader(Reader in, int maxFieldLength) {
+        this.in = in;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * Next record, or null at end of input.
+     *
+     * @throws IllegalArgumentException if a field exceeds the length cap
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) return null;
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    // Unterminated quote: keep what was read
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                        c = n;
+                        continue;
+                    }
+                } else {
+                    append(field, c);
+                }
+            } else if (c == -1 || c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '\r') {
+                int n = read();
+                if (n != '\n') pushedBack = n;
+                fields.add(field.toString());
+                return fields;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                append(field, c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Line on which the last record returned by {@link #next()} started (1-based).
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    private void append(StringBuilder field, int c) {
+        if (field.length() >= maxFieldLength) {
+            throw new IllegalArgumentException("Field longer than " + maxFieldLength + " characters at line " + recordLine);
+        }
+        field.append((char) c);
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != -2) {
+            c = pushedBack;
+            pushedBack = -2;
+        } else {
+            c = in.read();
+            if (c == '\n') line++;
+        }
+        return c;
+    }
+}
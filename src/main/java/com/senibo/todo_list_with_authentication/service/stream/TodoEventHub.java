@@ -0,0 +1,293 @@
+package com.senibo.todo_list_with_authentication.service.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed todo changes out to each user's open Server-Sent Events connections.
+ * <p>
+ * Connections are async servlet requests, so an idle one holds no thread: it costs an
+ * emitter and an empty bounded queue. A virtual thread is started only while a connection
+ * has queued events to write. A connection whose queue overflows is closed; the client
+ * reconnects with {@code Last-Event-ID} and catches up from the per-user replay buffer.
+ * If the gap is no longer covered, the client gets a {@code reset} event and should reload
+ * its list.
+ * <p>
+ * Event ids come from one counter seeded from the clock, so they keep increasing across
+ * restarts. The replay buffers are in memory and per instance.
+ */
+@Slf4j
+@Component
+public class TodoEventHub implements DisposableBean {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private record Envelope(long id, String name, String data) {}
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int replaySize;
+    private final long replayWindowMs;
+    private final long timeoutMs;
+    private final int maxConnectionsPerUser;
+
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("todo-stream-ticker").factory());
+
+    private final Counter published;
+    private final Counter slowConsumers;
+
+    public TodoEventHub(ObjectMapper objectMapper,
+                        MeterRegistry registry,
+                        @Value("${spring.app.sseBufferSize:64}") int bufferSize,
+                        @Value("${spring.app.sseReplaySize:256}") int replaySize,
+                        @Value("${spring.app.sseReplayWindowSeconds:300}") long replayWindowSeconds,
+                        @Value("${spring.app.sseHeartbeatSeconds:20}") long heartbeatSeconds,
+                        @Value("${spring.app.sseTimeoutMs:1800000}") long timeoutMs,
+                        @Value("${spring.app.sseMaxConnectionsPerUser:8}") int maxConnectionsPerUser) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.replayWindowMs = TimeUnit.SECONDS.toMillis(replayWindowSeconds);
+        this.timeoutMs = timeoutMs;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+
+        Gauge.builder("todo.stream.connections", connections, AtomicInteger::get).register(registry);
+        this.published = Counter.builder("todo.stream.events").register(registry);
+        this.slowConsumers = Counter.builder("todo.stream.disconnects").tag("reason", "slow").register(registry);
+
+        ticker.scheduleWithFixedDelay(this::tick, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Opens a stream for the user, replaying events after {@code lastEventId} when given.
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(userId, emitter);
+        emitter.onCompletion(connection::detach);
+        emitter.onTimeout(connection::close);
+        emitter.onError(e -> connection.close());
+
+        while (true) {
+            Channel channel = channels.computeIfAbsent(userId, id -> new Channel(sequence.get()));
+            synchronized (channel) {
+                if (channel.removed) continue;
+
+                // Replay under the channel lock so no live event slips in between
+                connection.offer(HEARTBEAT);
+                if (lastEventId != null) {
+                    replay(channel, connection, lastEventId);
+                }
+                if (channel.connections.size() >= maxConnectionsPerUser) {
+                    channel.connections.get(0).close();
+                }
+                if (!connection.closed.get()) {
+                    channel.connections.add(connection);
+                    connections.incrementAndGet();
+                }
+                channel.touch();
+            }
+            return emitter;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChange(TodoChangeEvent event) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize todo change for user {}", event.ownerId(), e);
+            return;
+        }
+        String name = event.type().name().toLowerCase();
+
+        while (true) {
+            Channel channel = channels.computeIfAbsent(event.ownerId(), id -> new Channel(sequence.get()));
+            synchronized (channel) {
+                if (channel.removed) continue;
+
+                Envelope envelope = new Envelope(sequence.incrementAndGet(), name, data);
+                channel.append(envelope);
+                // Iterate a copy: a full queue closes the connection, which removes it from the list
+                for (Connection c : List.copyOf(channel.connections)) {
+                    c.offer(envelope);
+                }
+            }
+            published.increment();
+            return;
+        }
+    }
+
+    private void replay(Channel channel, Connection connection, long lastEventId) {
+        List<Envelope> missed = new ArrayList<>();
+        for (Envelope e : channel.recent) {
+            if (e.id() > lastEventId) missed.add(e);
+        }
+        if (lastEventId < channel.horizon || missed.size() >= bufferSize - 1) {
+            connection.offer(new Envelope(sequence.get(), "reset", "{\"reason\":\"history unavailable\"}"));
+            return;
+        }
+        missed.forEach(connection::offer);
+    }
+
+    // Heartbeats keep proxies from closing idle streams and flush out dead connections;
+    // idle channels are dropped once their replay window has passed
+    private void tick() {
+        long now = System.currentTimeMillis();
+        channels.forEach((userId, channel) -> {
+            synchronized (channel) {
+                if (channel.connections.isEmpty()) {
+                    if (now - channel.lastActivity > replayWindowMs) {
+                        channel.removed = true;
+                        channels.remove(userId, channel);
+                    }
+                    return;
+                }
+                for (Connection c : List.copyOf(channel.connections)) {
+                    c.offer(HEARTBEAT);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+        channels.values().forEach(channel -> {
+            synchronized (channel) {
+                List.copyOf(channel.connections).forEach(Connection::close);
+            }
+        });
+        writers.shutdown();
+    }
+
+    // Per-user state; every field is guarded by the channel's monitor
+    private final class Channel {
+        final ArrayDeque<Envelope> recent = new ArrayDeque<>();
+        final List<Connection> connections = new ArrayList<>(1);
+        // Events with an id at or below this may have been missed by a resuming client
+        long horizon;
+        long lastActivity = System.currentTimeMillis();
+        boolean removed;
+
+        Channel(long horizon) {
+            this.horizon = horizon;
+        }
+
+        void append(Envelope envelope) {
+            if (recent.size() == replaySize) {
+                horizon = recent.removeFirst().id();
+            }
+            recent.addLast(envelope);
+            touch();
+        }
+
+        void touch() {
+            lastActivity = System.currentTimeMillis();
+        }
+    }
+
+    private final class Connection {
+        final Long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<Object> queue = new LinkedBlockingQueue<>(bufferSize);
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(Object item) {
+            if (closed.get()) return;
+            if (!queue.offer(item)) {
+                slowConsumers.increment();
+                log.debug("Closing slow todo stream for user {}", userId);
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+        }
+
+        // Single writer per connection; the flag is re-checked so an item queued while
+        // the writer was finishing is not stranded
+        void drain() {
+            try {
+                do {
+                    Object item;
+                    while (!closed.get() && (item = queue.poll()) != null) {
+                        emitter.send(item == HEARTBEAT
+                                ? SseEmitter.event().comment("keepalive")
+                                : toEvent((Envelope) item));
+                    }
+                    draining.set(false);
+                } while (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Todo stream for user {} is gone: {}", userId, e.getMessage());
+                close();
+            }
+        }
+
+        // Completing waits for an in-flight write, so it never runs under a channel lock
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                writers.execute(emitter::complete);
+            }
+            detach();
+        }
+
+        void detach() {
+            closed.set(true);
+            Channel channel = channels.get(userId);
+            if (channel == null) return;
+            synchronized (channel) {
+                if (channel.connections.remove(this)) {
+                    connections.decrementAndGet();
+                    channel.touch();
+                }
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(Envelope envelope) {
+        return SseEmitter.event()
+                         .id(Long.toString(envelope.id()))
+                         .name(envelope.name())
+                         .data(envelope.data());
+    }
+}
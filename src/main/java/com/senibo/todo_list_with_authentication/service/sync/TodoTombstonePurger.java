@@ -0,0 +1,38 @@
+package com.senibo.todo_list_with_authentication.service.sync;
+
+import com.senibo.todo_list_with_authentication.repository.TodoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Keeps delete tombstones for {@code spring.app.tombstoneRetentionDays}. Clients whose sync
+ * token is older than what was purged get 410 from the changes endpoint and reload.
+ */
+@Slf4j
+@Component
+public class TodoTombstonePurger {
+
+    private final TodoRepository todoRepository;
+    private final Duration retention;
+
+    public TodoTombstonePurger(TodoRepository todoRepository,
+                               @Value("${spring.app.tombstoneRetentionDays:30}") long retentionDays) {
+        this.todoRepository = todoRepository;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    @Scheduled(fixedDelayString = "${spring.app.tombstonePurgeIntervalMs:3600000}", initialDelay = 60_000)
+    @Transactional
+    public void purge() {
+        int owners = todoRepository.purgeTombstones(Instant.now().minus(retention));
+        if (owners > 0) {
+            log.info("Purged todo tombstones older than {} for {} users", retention, owners);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+-- Baseline schema. Every statement is IF NOT EXISTS so this is a no-op on
+-- databases that were created earlier by ddl-auto=update.
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(50)  NOT NULL,
+    email    VARCHAR(120) NOT NULL,
+    password VARCHAR(120) NOT NULL,
+    role     VARCHAR(20)  NOT NULL CHECK (role IN ('ROLE_USER', 'ROLE_ADMIN')),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS todos (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    user_id     BIGINT       NOT NULL REFERENCES users (id)
+);
+
+-- Serves "WHERE user_id = ? ORDER BY id DESC" for both page-number and cursor listing
+CREATE INDEX IF NOT EXISTS idx_todos_user_id_id ON todos (user_id, id);
@@ -0,0 +1,7 @@
+-- Switch todos.id from IDENTITY to a pooled sequence so Hibernate can batch inserts.
+-- Hibernate's pooled optimizer hands out (value - 49 .. value], so start 50 above the current max.
+CREATE SEQUENCE IF NOT EXISTS todos_seq INCREMENT BY 50;
+SELECT setval('todos_seq', COALESCE((SELECT MAX(id) FROM todos), 0) + 50, false);
+
+ALTER TABLE todos ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE todos ALTER COLUMN id SET DEFAULT nextval('todos_seq');
@@ -0,0 +1,4 @@
+-- Row versions for ETags / If-Match, plus a per-user list version bumped on every todo write
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now();
+ALTER TABLE users ADD COLUMN IF NOT EXISTS todos_version BIGINT NOT NULL DEFAULT 0;
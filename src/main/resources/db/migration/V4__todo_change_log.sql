@@ -0,0 +1,100 @@
+-- Delta sync: every todo write takes its change_seq from one global sequence, and deletes leave a
+-- tombstone. users.todos_version is raised once per user per statement to the highest change_seq
+-- written, so it serves as the list ETag and as the bound of a sync token. Values are not
+-- contiguous per user, which neither relies on.
+--
+-- A sync token must never skip a row, so writers of one user have to commit in change_seq order.
+-- A transaction-scoped advisory lock on the user id gives that: taken before the first value is
+-- drawn (later calls in the same transaction are a no-op) and held until commit. Updating the users
+-- row per todo row would do the same, but would leave one dead users tuple per row and queue every
+-- writer on that row lock for the whole statement.
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS changes_floor BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS todo_tombstones (
+    todo_id    BIGINT PRIMARY KEY,
+    user_id    BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE SEQUENCE IF NOT EXISTS todo_change_seq;
+
+-- Number existing rows above every list version handed out so far, so ETags keep moving forward
+UPDATE todos t
+SET change_seq = v.base + n.rn
+FROM (SELECT id, row_number() OVER (ORDER BY id) AS rn FROM todos) n,
+     (SELECT coalesce(max(todos_version), 0) AS base FROM users) v
+WHERE t.id = n.id;
+
+UPDATE users u
+SET todos_version = c.max_seq
+FROM (SELECT user_id, max(change_seq) AS max_seq FROM todos GROUP BY user_id) c
+WHERE u.id = c.user_id;
+
+SELECT setval('todo_change_seq', greatest(
+    (SELECT coalesce(max(todos_version), 0) FROM users),
+    (SELECT coalesce(max(change_seq), 0) FROM todos),
+    1));
+
+CREATE INDEX IF NOT EXISTS idx_todos_user_id_change_seq ON todos (user_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_user_id_change_seq ON todo_tombstones (user_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_deleted_at ON todo_tombstones (deleted_at);
+
+CREATE OR REPLACE FUNCTION todos_assign_change_seq() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock(NEW.user_id);
+    NEW.change_seq := nextval('todo_change_seq');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+-- Runs for INSERT and UPDATE; both name their transition table changed_rows
+CREATE OR REPLACE FUNCTION todos_bump_version() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE users u
+    SET todos_version = c.max_seq
+    FROM (SELECT user_id, max(change_seq) AS max_seq FROM changed_rows GROUP BY user_id) c
+    WHERE u.id = c.user_id AND u.todos_version < c.max_seq;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION todos_record_deletes() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock(o.user_id)
+    FROM (SELECT DISTINCT user_id FROM deleted_rows ORDER BY user_id) o;
+
+    WITH t AS (
+        INSERT INTO todo_tombstones (todo_id, user_id, change_seq)
+        SELECT id, user_id, nextval('todo_change_seq') FROM deleted_rows
+        ON CONFLICT (todo_id) DO UPDATE SET change_seq = EXCLUDED.change_seq, deleted_at = now()
+        RETURNING user_id, change_seq
+    )
+    UPDATE users u
+    SET todos_version = c.max_seq
+    FROM (SELECT user_id, max(change_seq) AS max_seq FROM t GROUP BY user_id) c
+    WHERE u.id = c.user_id AND u.todos_version < c.max_seq;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS todos_change_seq ON todos;
+CREATE TRIGGER todos_change_seq BEFORE INSERT OR UPDATE ON todos
+    FOR EACH ROW EXECUTE FUNCTION todos_assign_change_seq();
+
+-- A trigger with transition tables fires for a single event, hence three
+DROP TRIGGER IF EXISTS todos_version_insert ON todos;
+CREATE TRIGGER todos_version_insert AFTER INSERT ON todos
+    REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION todos_bump_version();
+
+DROP TRIGGER IF EXISTS todos_version_update ON todos;
+CREATE TRIGGER todos_version_update AFTER UPDATE ON todos
+    REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION todos_bump_version();
+
+DROP TRIGGER IF EXISTS todos_tombstone ON todos;
+CREATE TRIGGER todos_tombstone AFTER DELETE ON todos
+    REFERENCING OLD TABLE AS deleted_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION todos_record_deletes();
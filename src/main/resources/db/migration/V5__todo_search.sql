@@ -0,0 +1,12 @@
+-- Full-text search: a stored tsvector (title weighted above description) and a GIN index that
+-- leads with user_id, so a search only visits the caller's postings. btree_gin provides the
+-- GIN operator class for the bigint column.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_todos_user_id_search ON todos USING GIN (user_id, search_vector);
@@ -0,0 +1,24 @@
+-- Status, due date, priority (Priority enum ordinal: 0 LOW .. 3 URGENT) and creation time
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS completed BOOLEAN NOT NULL DEFAULT false;
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS due_date DATE;
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS priority SMALLINT NOT NULL DEFAULT 1;
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now();
+
+ALTER TABLE todos DROP CONSTRAINT IF EXISTS ck_todos_priority;
+ALTER TABLE todos ADD CONSTRAINT ck_todos_priority CHECK (priority BETWEEN 0 AND 3);
+
+-- One index per supported filter/sort combination of GET /api/v1/todos (see TodoSpecifications).
+-- Open-todo views are partial on NOT completed, so finished todos never enter those index scans.
+
+-- completed=false, due range and/or sort=dueDate ("my open todos due this week")
+CREATE INDEX IF NOT EXISTS idx_todos_open_due ON todos (user_id, due_date, id) WHERE NOT completed;
+-- completed=false, minPriority and/or sort=priority
+CREATE INDEX IF NOT EXISTS idx_todos_open_priority ON todos (user_id, priority, id) WHERE NOT completed;
+-- completed=true, default id order
+CREATE INDEX IF NOT EXISTS idx_todos_done ON todos (user_id, id) WHERE completed;
+-- any status, due range and/or sort=dueDate
+CREATE INDEX IF NOT EXISTS idx_todos_user_id_due ON todos (user_id, due_date, id);
+-- any status, minPriority and/or sort=priority
+CREATE INDEX IF NOT EXISTS idx_todos_user_id_priority ON todos (user_id, priority, id);
+-- any status, sort=createdAt
+CREATE INDEX IF NOT EXISTS idx_todos_user_id_created ON todos (user_id, created_at, id);
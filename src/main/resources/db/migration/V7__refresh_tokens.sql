@@ -0,0 +1,18 @@
+-- Refresh tokens, one row per login session; only SHA-256 digests of the tokens are stored.
+-- A refresh rotates the row in place: the presented hash moves to previous_hash and a new hash
+-- takes its place, so renewing a session is one indexed UPDATE. A token presented again after
+-- it was rotated matches previous_hash, which is treated as theft and ends the session.
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id       BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    token_hash    BYTEA  NOT NULL,
+    previous_hash BYTEA,
+    expires_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_refresh_tokens_token_hash ON refresh_tokens (token_hash);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_previous_hash ON refresh_tokens (previous_hash)
+    WHERE previous_hash IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
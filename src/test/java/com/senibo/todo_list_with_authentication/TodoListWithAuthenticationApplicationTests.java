@@ -1,10 +1,11 @@
 package com.senibo.todo_list_with_authentication;
 
+import com.senibo.todo_list_with_authentication.support.PostgresTest;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @SpringBootTest
-class TodoListWithAuthenticationApplicationTests {
+class TodoListWithAuthenticationApplicationTests extends PostgresTest {
 
 	@Test
 	void contextLoads() {
@@ -0,0 +1,90 @@
+package com.senibo.todo_list_with_authentication.controller;
+
+import com.senibo.todo_list_with_authentication.exception.GlobalExceptionHandler;
+import com.senibo.todo_list_with_authentication.repository.UserRepository;
+import com.senibo.todo_list_with_authentication.security.jwt.JwtUtils;
+import com.senibo.todo_list_with_authentication.security.jwt.TokenVersionRegistry;
+import com.senibo.todo_list_with_authentication.security.ratelimit.LoginRateLimiter;
+import com.senibo.todo_list_with_authentication.service.auth.RefreshTokenStore;
+import com.senibo.todo_list_with_authentication.service.impl.AuthServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Login throttling through the controller, service and exception handler: a throttled attempt
+ * is answered with 429 before the authentication manager (and so BCrypt) is reached.
+ */
+class AuthControllerLoginTest {
+
+    private static final String BODY = "{\"identifier\":\"jane\",\"password\":\"wrong\"}";
+
+    private final AuthenticationManager authManager = mock(AuthenticationManager.class);
+
+    @BeforeEach
+    void setUp() {
+        when(authManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+    }
+
+    private MockMvc mvc(LoginRateLimiter limiter) {
+        var service = new AuthServiceImpl(authManager,
+                                          mock(PasswordEncoder.class),
+                                          mock(UserRepository.class),
+                                          mock(JwtUtils.class),
+                                          new TokenVersionRegistry(),
+                                          limiter,
+                                          mock(RefreshTokenStore.class));
+        return MockMvcBuilders.standaloneSetup(new AuthController(service))
+                              .setControllerAdvice(new GlobalExceptionHandler())
+                              .build();
+    }
+
+    @Test
+    void failedLoginPutsTheIdentifierIntoBackoffWithoutAnotherPasswordCheck() throws Exception {
+        // Backoff from the first failure, 30 s
+        var mvc = mvc(new LoginRateLimiter(new SimpleMeterRegistry(), true, 1024, 60, 2, 60, 2,
+                                           0, 30_000, 900_000, 900_000));
+
+        mvc.perform(post("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON).content(BODY))
+           .andExpect(status().isUnauthorized());
+
+        mvc.perform(post("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON).content(BODY))
+           .andExpect(status().isTooManyRequests())
+           .andExpect(header().string("Retry-After", "30"))
+           .andExpect(jsonPath("$.success").value(false));
+
+        verify(authManager, times(1)).authenticate(any());
+    }
+
+    @Test
+    void drainedBucketIsRejectedBeforeAuthentication() throws Exception {
+        // One attempt per identifier, taken below
+        var limiter = new LoginRateLimiter(new SimpleMeterRegistry(), true, 1024, 60, 1, 60, 1,
+                                           100, 1_000, 900_000, 900_000);
+        var mvc = mvc(limiter);
+        limiter.check("jane", "192.0.2.1");
+
+        mvc.perform(post("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON).content(BODY))
+           .andExpect(status().isTooManyRequests())
+           .andExpect(header().string("Retry-After", "1"));
+
+        verify(authManager, never()).authenticate(any());
+    }
+}
@@ -0,0 +1,183 @@
+package com.senibo.todo_list_with_authentication.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senibo.todo_list_with_authentication.dto.auth.SignupRequest;
+import com.senibo.todo_list_with_authentication.repository.UserRepository;
+import com.senibo.todo_list_with_authentication.security.jwt.TokenVersionRegistry;
+import com.senibo.todo_list_with_authentication.service.AuthService;
+import com.senibo.todo_list_with_authentication.service.auth.RefreshTokenStore;
+import com.senibo.todo_list_with_authentication.support.PostgresTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Refresh-token rotation against the real schema, through the HTTP endpoints and the service's
+ * transaction boundaries.
+ */
+@SpringBootTest(properties = {
+        "spring.app.loginLimiterEnabled=false",
+        "spring.app.refreshTokenTtlDays=14",
+        "spring.app.refreshTokenMaxAgeDays=90"
+})
+@AutoConfigureMockMvc
+class AuthControllerRefreshTest extends PostgresTest {
+
+    private static final String PASSWORD = "Secr3t@pass";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper json;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersions;
+
+    @Autowired
+    private RefreshTokenStore refreshTokens;
+
+    private String username;
+    private Long userId;
+
+    @BeforeEach
+    void signUp() {
+        username = "rt_" + UUID.randomUUID().toString().substring(0, 8);
+        authService.register(new SignupRequest(username, username + "@example.com", PASSWORD));
+        userId = users.findByUsername(username).orElseThrow().getId();
+    }
+
+    private JsonNode login() throws Exception {
+        return data(postJson("/api/v1/auth/login", Map.of("identifier", username, "password", PASSWORD)).andExpect(status().isOk()));
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return postJson("/api/v1/auth/refresh", Map.of("refreshToken", refreshToken));
+    }
+
+    private ResultActions postJson(String path, Object body) throws Exception {
+        return mvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(json.writeValueAsBytes(body)));
+    }
+
+    private JsonNode data(ResultActions result) throws Exception {
+        return json.readTree(result.andReturn().getResponse().getContentAsByteArray()).path("data");
+    }
+
+    private ResultActions listTodos(String accessToken) throws Exception {
+        return mvc.perform(get("/api/v1/todos").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken));
+    }
+
+    private int sessions() {
+        return jdbc.queryForObject("select count(*) from refresh_tokens where user_id = ?", Integer.class, userId);
+    }
+
+    @Test
+    void refreshRotatesAndTheOldTokenStopsWorking() throws Exception {
+        String first = login().path("refreshToken").asText();
+
+        JsonNode renewed = data(refresh(first).andExpect(status().isOk()));
+        String second = renewed.path("refreshToken").asText();
+        assertThat(second).isNotBlank().isNotEqualTo(first);
+        assertThat(renewed.path("username").asText()).isEqualTo(username);
+        listTodos(renewed.path("token").asText()).andExpect(status().isOk());
+
+        refresh(first).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void replayingARotatedTokenEndsTheSessionAndRevokesAccessTokens() throws Exception {
+        String first = login().path("refreshToken").asText();
+        JsonNode renewed = data(refresh(first).andExpect(status().isOk()));
+        String accessToken = renewed.path("token").asText();
+        int versionBefore = tokenVersions.current(userId);
+
+        refresh(first).andExpect(status().isUnauthorized());
+
+        // The 401 did not roll the revocation back
+        assertThat(sessions()).isZero();
+        assertThat(tokenVersions.current(userId)).isGreaterThan(versionBefore);
+        refresh(renewed.path("refreshToken").asText()).andExpect(status().isUnauthorized());
+        listTodos(accessToken).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void replayOnlyEndsTheSessionItBelongsTo() throws Exception {
+        String stolen = login().path("refreshToken").asText();
+        String otherDevice = login().path("refreshToken").asText();
+        refresh(stolen).andExpect(status().isOk());
+
+        refresh(stolen).andExpect(status().isUnauthorized());
+
+        assertThat(sessions()).isEqualTo(1);
+        refresh(otherDevice).andExpect(status().isOk());
+    }
+
+    @Test
+    void expiredTokenIsRejected() throws Exception {
+        String token = login().path("refreshToken").asText();
+        jdbc.update("update refresh_tokens set expires_at = now() - interval '1 second' where user_id = ?", userId);
+
+        refresh(token).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void expiryIsCappedAtTheMaximumSessionAge() throws Exception {
+        String token = login().path("refreshToken").asText();
+        // Logged in 80 days ago: another 14 days would pass the 90-day cap
+        jdbc.update("update refresh_tokens set created_at = now() - interval '80 days' where user_id = ?", userId);
+
+        refresh(token).andExpect(status().isOk());
+
+        var row = jdbc.queryForMap("select created_at, expires_at from refresh_tokens where user_id = ?", userId);
+        var createdAt = ((Timestamp) row.get("created_at")).toInstant();
+        var expiresAt = ((Timestamp) row.get("expires_at")).toInstant();
+        assertThat(expiresAt).isEqualTo(createdAt.plus(Duration.ofDays(90)));
+    }
+
+    @Test
+    void logoutEndsEverySession() throws Exception {
+        JsonNode session = login();
+        login();
+
+        mvc.perform(post("/api/v1/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + session.path("token").asText()))
+           .andExpect(status().isNoContent());
+
+        assertThat(sessions()).isZero();
+        refresh(session.path("refreshToken").asText()).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void purgeDropsOnlyExpiredSessions() throws Exception {
+        login();
+        login();
+        jdbc.update("update refresh_tokens set expires_at = now() - interval '1 second' " +
+                    "where id = (select min(id) from refresh_tokens where user_id = ?)", userId);
+
+        refreshTokens.purge();
+
+        assertThat(sessions()).isEqualTo(1);
+    }
+}
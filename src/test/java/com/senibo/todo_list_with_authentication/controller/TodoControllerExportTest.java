@@ -0,0 +1,42 @@
+package com.senibo.todo_list_with_authentication.controller;
+
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+import com.senibo.todo_list_with_authentication.support.PostgresTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The export gets its own async timeout; the container default stays in place for everything else.
+ */
+@SpringBootTest(properties = "spring.app.exportTimeoutMs=123456")
+@AutoConfigureMockMvc
+class TodoControllerExportTest extends PostgresTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void exportRunsWithItsOwnTimeout() throws Exception {
+        var principal = new UserDetailsImpl(-1L, "nobody", "nobody@example.com", "secret", List.of());
+
+        MvcResult result = mvc.perform(get("/api/v1/todos/export").with(user(principal)))
+                              .andExpect(request().asyncStarted())
+                              .andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(123456L);
+        mvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,182 @@
+package com.senibo.todo_list_with_authentication.repository;
+
+import com.senibo.todo_list_with_authentication.dto.todo.BatchUpdateTodoRequest;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoBatchResult;
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+import com.senibo.todo_list_with_authentication.service.cache.TodoListCache;
+import com.senibo.todo_list_with_authentication.service.impl.TodoServiceImpl;
+import com.senibo.todo_list_with_authentication.support.PostgresTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The change_seq triggers of the V4 migration, driven by multi-row statements the way
+ * the import and bulk endpoints write.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TodoChangeSeqTest extends PostgresTest {
+
+    @Autowired
+    private TodoRepository todos;
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private long owner;
+    private long other;
+
+    @BeforeEach
+    void setUp() {
+        owner = insertUser();
+        other = insertUser();
+    }
+
+    private long version(long userId) {
+        return jdbc.queryForObject("select todos_version from users where id = ?", Long.class, userId);
+    }
+
+    private List<Long> changeSeqs(long userId) {
+        return jdbc.queryForList("select change_seq from todos where user_id = ? order by id", Long.class, userId);
+    }
+
+    private void insertTodos(long userId, int count) {
+        jdbc.update("insert into todos (title, user_id) select 'todo ' || n, ? from generate_series(1, ?) n", userId, count);
+    }
+
+    @Test
+    void multiRowInsertTakesIncreasingValuesAboveTheOwnersVersion() {
+        long before = version(owner);
+
+        jdbc.update("insert into todos (title, user_id) " +
+                    "select 'todo ' || n, case when n % 2 = 0 then ? else ? end from generate_series(1, 6) n",
+                    owner, other);
+
+        List<Long> seqs = changeSeqs(owner);
+        assertThat(seqs).hasSize(3).doesNotHaveDuplicates().isSorted();
+        assertThat(seqs.get(0)).isGreaterThan(before);
+        // One statement, two owners: each version ends at its own highest value
+        assertThat(version(owner)).isEqualTo(seqs.get(seqs.size() - 1));
+        assertThat(version(other)).isEqualTo(changeSeqs(other).get(2));
+    }
+
+    @Test
+    void multiRowUpdateMovesEveryRowPastThePreviousVersion() {
+        insertTodos(owner, 5);
+        long before = version(owner);
+
+        jdbc.update("update todos set completed = true where user_id = ?", owner);
+
+        List<Long> seqs = changeSeqs(owner);
+        assertThat(seqs).hasSize(5).doesNotHaveDuplicates().allMatch(seq -> seq > before);
+        assertThat(version(owner)).isEqualTo(seqs.stream().mapToLong(Long::longValue).max().orElseThrow());
+    }
+
+    @Test
+    void multiRowDeleteLeavesTombstonesWithIncreasingValues() {
+        insertTodos(owner, 4);
+        long before = version(owner);
+
+        jdbc.update("delete from todos where user_id = ?", owner);
+
+        List<Long> tombstones = jdbc.queryForList("select change_seq from todo_tombstones where user_id = ? order by change_seq",
+                                                  Long.class, owner);
+        assertThat(tombstones).hasSize(4).doesNotHaveDuplicates().allMatch(seq -> seq > before);
+        assertThat(version(owner)).isEqualTo(tombstones.get(3));
+        assertThat(todos.findChangesSince(owner, before, 10)).hasSize(4).allMatch(TodoRepository.ChangeRow::isDeleted);
+    }
+
+    @Test
+    void eachStatementRaisesTheVersionSoTheSyncTokenSeesEveryRow() {
+        insertTodos(owner, 3);
+        long afterInsert = version(owner);
+        jdbc.update("update todos set title = 'renamed' where id = (select min(id) from todos where user_id = ?)", owner);
+
+        assertThat(version(owner)).isGreaterThan(afterInsert);
+        var changes = todos.findChangesSince(owner, afterInsert, 10);
+        assertThat(changes).singleElement().extracting(TodoRepository.ChangeRow::getTitle).isEqualTo("renamed");
+        assertThat(changes.get(0).getChangeSeq()).isEqualTo(version(owner));
+        assertThat(version(other)).isZero();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void batchSpanningOwnersLocksThemInIdOrderBeforeWritingAnyRow() throws Exception {
+        // Committed, so the batch's own transaction sees them: todo ids in the order owner, other,
+        // owner, other. Without sorted locks a batch of the first and last row would hold the
+        // owner's lock and a row lock while waiting for the other's, and a second batch taking
+        // them the other way round would deadlock with it.
+        long first = todo(owner);
+        long otherFirst = todo(other);
+        todo(owner);
+        long last = todo(other);
+        var admin = new UserDetailsImpl(owner, "admin", "admin@example.com", "secret",
+                                        List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        var service = new TodoServiceImpl(todos, users, mock(TodoListCache.class), mock(ApplicationEventPublisher.class));
+        var tx = new TransactionTemplate(txManager);
+
+        try (Connection holder = dataSource.getConnection()) {
+            holder.setAutoCommit(false);
+            try (Statement s = holder.createStatement()) {
+                // Another transaction already holds the higher owner id, as a concurrent batch would
+                s.execute("select pg_advisory_xact_lock(" + Math.max(owner, other) + ")");
+            }
+
+            var batch = CompletableFuture.supplyAsync(() -> tx.execute(status -> service.updateTodos(
+                    List.of(new BatchUpdateTodoRequest.Item(first, "first renamed", "by admin"),
+                            new BatchUpdateTodoRequest.Item(last, "last renamed", "by admin")),
+                    admin, true)));
+
+            await().atMost(10, TimeUnit.SECONDS).until(() -> waitingForAdvisoryLock() == 1);
+            // Waiting on the second lock, the batch has not touched a row: both are still free
+            assertThat(jdbc.queryForList("select id from todos where id in (?, ?) for update skip locked",
+                                         Long.class, first, last))
+                    .containsExactlyInAnyOrder(first, last);
+            holder.commit();
+
+            assertThat(batch.get(10, TimeUnit.SECONDS))
+                    .extracting(TodoBatchResult::status)
+                    .containsOnly(TodoBatchResult.Status.UPDATED);
+            assertThat(jdbc.queryForObject("select title from todos where id = ?", String.class, otherFirst))
+                    .isEqualTo("todo");
+        } finally {
+            jdbc.update("delete from todos where user_id in (?, ?)", owner, other);
+            jdbc.update("delete from todo_tombstones where user_id in (?, ?)", owner, other);
+            jdbc.update("delete from users where id in (?, ?)", owner, other);
+        }
+    }
+
+    private long todo(long userId) {
+        return jdbc.queryForObject("insert into todos (title, user_id) values ('todo', ?) returning id", Long.class, userId);
+    }
+
+    private int waitingForAdvisoryLock() {
+        return jdbc.queryForObject("select count(*) from pg_locks where locktype = 'advisory' and not granted", Integer.class);
+    }
+}
@@ -0,0 +1,138 @@
+package com.senibo.todo_list_with_authentication.repository;
+
+import com.senibo.todo_list_with_authentication.dto.todo.PatchTodoRequest;
+import com.senibo.todo_list_with_authentication.model.Priority;
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+import com.senibo.todo_list_with_authentication.service.cache.TodoListCache;
+import com.senibo.todo_list_with_authentication.service.impl.TodoServiceImpl;
+import com.senibo.todo_list_with_authentication.support.PostgresTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The single-statement PATCH: null binds, the due-date flag and the version sentinel only mean
+ * something to Postgres, so they are checked against it rather than H2.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TodoPatchOwnedTest extends PostgresTest {
+
+    private static final long ANY_VERSION = -1L;
+    private static final LocalDate DUE = LocalDate.of(2030, 1, 15);
+
+    @Autowired
+    private TodoRepository todos;
+
+    @Autowired
+    private UserRepository users;
+
+    private long owner;
+    private long stranger;
+    private long todoId;
+
+    @BeforeEach
+    void setUp() {
+        owner = insertUser();
+        stranger = insertUser();
+        todoId = jdbc.queryForObject("insert into todos (title, description, due_date, priority, user_id) " +
+                                     "values ('Buy milk', '2 liters', ?, 2, ?) returning id",
+                                     Long.class, DUE, owner);
+    }
+
+    private Map<String, Object> stored() {
+        return jdbc.queryForMap("select title, description, completed, due_date, priority, version from todos where id = ?", todoId);
+    }
+
+    private long version() {
+        return ((Number) stored().get("version")).longValue();
+    }
+
+    @Test
+    void nullFieldsKeepTheirValues() {
+        var row = todos.patchOwned(todoId, owner, "Buy oat milk", null, null, null, false, null, ANY_VERSION).orElseThrow();
+
+        assertThat(row.getTitle()).isEqualTo("Buy oat milk");
+        assertThat(row.getDescription()).isEqualTo("2 liters");
+        assertThat(row.getCompleted()).isFalse();
+        assertThat(row.getDueDate()).isEqualTo(DUE);
+        assertThat(row.getPriority()).isEqualTo((short) 2);
+        assertThat(row.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void typedFieldsAreWritten() {
+        var row = todos.patchOwned(todoId, owner, null, null, true, DUE.plusDays(1), false, (short) 3, ANY_VERSION).orElseThrow();
+
+        assertThat(row.getTitle()).isEqualTo("Buy milk");
+        assertThat(row.getCompleted()).isTrue();
+        assertThat(row.getDueDate()).isEqualTo(DUE.plusDays(1));
+        assertThat(Priority.fromOrdinal(row.getPriority())).isEqualTo(Priority.URGENT);
+    }
+
+    @Test
+    void clearDueDateRemovesItAndLeavesTheRest() {
+        var row = todos.patchOwned(todoId, owner, null, null, null, null, true, null, ANY_VERSION).orElseThrow();
+
+        assertThat(row.getDueDate()).isNull();
+        assertThat(row.getTitle()).isEqualTo("Buy milk");
+        assertThat(stored().get("due_date")).isNull();
+    }
+
+    @Test
+    void matchingVersionIsApplied() {
+        var row = todos.patchOwned(todoId, owner, null, "3 liters", null, null, false, null, version());
+
+        assertThat(row).get().extracting(TodoRepository.TodoRow::getDescription).isEqualTo("3 liters");
+    }
+
+    @Test
+    void staleVersionMatchesNothing() {
+        long current = version();
+
+        assertThat(todos.patchOwned(todoId, owner, "Stale", null, null, null, false, null, current + 1)).isEmpty();
+        assertThat(stored()).containsEntry("title", "Buy milk").containsEntry("version", current);
+    }
+
+    @Test
+    void otherUsersTodoMatchesNothing() {
+        assertThat(todos.patchOwned(todoId, stranger, "Mine now", null, null, null, false, null, ANY_VERSION)).isEmpty();
+        assertThat(stored()).containsEntry("title", "Buy milk").containsEntry("version", 0L);
+    }
+
+    @Test
+    void missingTodoMatchesNothing() {
+        assertThat(todos.patchOwned(todoId + 1_000_000, owner, "Ghost", null, null, null, false, null, ANY_VERSION)).isEmpty();
+    }
+
+    @Test
+    void serviceTellsNotFoundForbiddenAndStaleApart() {
+        var service = new TodoServiceImpl(todos, users, mock(TodoListCache.class), mock(ApplicationEventPublisher.class));
+        var patch = new PatchTodoRequest("New title", null, null, null, null, null);
+
+        assertThatThrownBy(() -> service.patchTodo(todoId + 1_000_000, patch, null, principal(owner), false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Todo not found");
+        assertThatThrownBy(() -> service.patchTodo(todoId, patch, null, principal(stranger), false))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> service.patchTodo(todoId, patch, version() + 1, principal(owner), false))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    private static UserDetailsImpl principal(long userId) {
+        return new UserDetailsImpl(userId, "user" + userId, "user" + userId + "@example.com", "secret", List.of());
+    }
+}
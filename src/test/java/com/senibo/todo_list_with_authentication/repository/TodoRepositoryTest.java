@@ -0,0 +1,141 @@
+package com.senibo.todo_list_with_authentication.repository;
+
+import com.senibo.todo_list_with_authentication.dto.todo.TodoFilter;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoResponse;
+import com.senibo.todo_list_with_authentication.model.Role;
+import com.senibo.todo_list_with_authentication.model.Todo;
+import com.senibo.todo_list_with_authentication.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TodoRepositoryTest {
+
+    private static final int OWNERS = 5;
+    private static final int TODOS_PER_OWNER = 4;
+
+    @Autowired
+    private TodoRepository todos;
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics statistics;
+    private Long firstOwnerId;
+
+    @BeforeEach
+    void setUp() {
+        for (int u = 0; u < OWNERS; u++) {
+            User owner = users.save(User.builder()
+                                        .username("user" + u)
+                                        .email("user" + u + "@example.com")
+                                        .password("secret")
+                                        .role(Role.ROLE_USER)
+                                        .build());
+            if (firstOwnerId == null) firstOwnerId = owner.getId();
+
+            for (int i = 0; i < TODOS_PER_OWNER; i++) {
+                todos.save(Todo.builder().title("todo " + i).description("desc").user(owner).build());
+            }
+        }
+        em.flush();
+        em.clear();
+
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void adminPageRunsSelectAndCountOnlyRegardlessOfOwners() {
+        var page = todos.findAllResponses(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")));
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getContent()).extracting(TodoResponse::username).doesNotContainNull();
+        assertThat(page.getContent().stream().map(TodoResponse::userId).distinct().count()).isGreaterThan(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void userPageRunsSelectAndCountOnly() {
+        var page = todos.findResponsesByUserId(firstOwnerId, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id")));
+
+        assertThat(page.getContent()).hasSize(2).extracting(TodoResponse::username).containsOnly("user0");
+        assertThat(page.getTotalElements()).isEqualTo(TODOS_PER_OWNER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void keysetPageRunsASingleStatement() {
+        List<TodoResponse> page = todos.findAllResponsesBefore(Long.MAX_VALUE, Limit.of(OWNERS * TODOS_PER_OWNER));
+
+        assertThat(page).hasSize(OWNERS * TODOS_PER_OWNER);
+        assertThat(page).extracting(TodoResponse::id).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void ownedLookupIsOneStatementAndFiltersForeignTodos() {
+        Long ownTodo = todos.findResponsesByUserIdBefore(firstOwnerId, Long.MAX_VALUE, Limit.of(1)).get(0).id();
+        Long foreignTodo = todos.findAllResponses(PageRequest.of(0, OWNERS * TODOS_PER_OWNER))
+                                .stream()
+                                .filter(t -> !t.userId().equals(firstOwnerId))
+                                .findFirst()
+                                .orElseThrow()
+                                .id();
+        statistics.clear();
+
+        assertThat(todos.findResponseByIdAndUserId(ownTodo, firstOwnerId)).get()
+                                                                           .extracting(TodoResponse::username)
+                                                                           .isEqualTo("user0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(todos.findResponseByIdAndUserId(foreignTodo, firstOwnerId)).isEmpty();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void filteredPageIsOneStatementWithoutCount() {
+        LocalDate today = LocalDate.now();
+        List<Todo> own = todos.findByUserId(firstOwnerId, PageRequest.of(0, TODOS_PER_OWNER, Sort.by("id"))).getContent();
+        for (int i = 0; i < own.size(); i++) {
+            own.get(i).setDueDate(today.plusDays(i));
+            own.get(i).setCompleted(i == 0);
+        }
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        var spec = TodoSpecifications.ownedBy(firstOwnerId)
+                                     .and(TodoSpecifications.matching(new TodoFilter(false, today, today.plusDays(2), null)));
+        var slice = todos.findResponses(spec, PageRequest.of(0, 10, Sort.by("dueDate", "id")));
+
+        assertThat(slice.getContent()).extracting(TodoResponse::dueDate)
+                                      .containsExactly(today.plusDays(1), today.plusDays(2));
+        assertThat(slice.hasNext()).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,66 @@
+package com.senibo.todo_list_with_authentication.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senibo.todo_list_with_authentication.dto.auth.SignupRequest;
+import com.senibo.todo_list_with_authentication.service.AuthService;
+import com.senibo.todo_list_with_authentication.support.PostgresTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.app.loginLimiterEnabled=false")
+@AutoConfigureMockMvc
+// Metrics export, and so the Prometheus endpoint, is off in tests unless asked for
+@AutoConfigureObservability(tracing = false)
+class ActuatorSecurityTest extends PostgresTest {
+
+    private static final String PASSWORD = "Secr3t@pass";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper json;
+
+    @Autowired
+    private AuthService authService;
+
+    private String tokenFor(String role) throws Exception {
+        String username = "ac_" + UUID.randomUUID().toString().substring(0, 8);
+        authService.register(new SignupRequest(username, username + "@example.com", PASSWORD));
+        jdbc.update("update users set role = ? where username = ?", role, username);
+
+        byte[] body = mvc.perform(post("/api/v1/auth/login")
+                                          .contentType(MediaType.APPLICATION_JSON)
+                                          .content(json.writeValueAsBytes(Map.of("identifier", username, "password", PASSWORD))))
+                         .andExpect(status().isOk())
+                         .andReturn().getResponse().getContentAsByteArray();
+        return "Bearer " + json.readTree(body).path("data").path("token").asText();
+    }
+
+    @Test
+    void healthIsPublic() throws Exception {
+        mvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    void prometheusNeedsAnAdmin() throws Exception {
+        mvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, tokenFor("ROLE_USER")))
+           .andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, tokenFor("ROLE_ADMIN")))
+           .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,179 @@
+package com.senibo.todo_list_with_authentication.security.ratelimit;
+
+import com.senibo.todo_list_with_authentication.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class LoginRateLimiterTest {
+
+    private static final long SEED = 42;
+    private static final int SLOTS = 1 << 10;
+    private static final long BACKOFF_BASE_MS = 1_000;
+    private static final long BACKOFF_MAX_MS = 8_000;
+    private static final long FAILURE_WINDOW_MS = 60_000;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // 60 per minute (one token per second) and burst 3, for IPs and identifiers alike; two free failures
+    private LoginRateLimiter limiter(int slots) {
+        return new LoginRateLimiter(registry, true, slots, 60, 3, 60, 3,
+                                    2, BACKOFF_BASE_MS, BACKOFF_MAX_MS, FAILURE_WINDOW_MS, clock::get, SEED);
+    }
+
+    private void advance(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private static Duration rejection(LoginRateLimiter limiter, String identifier, String ip) {
+        var e = catchThrowableOfType(TooManyRequestsException.class, () -> limiter.check(identifier, ip));
+        assertThat(e).as("attempt for %s from %s should be rejected", identifier, ip).isNotNull();
+        return e.getRetryAfter();
+    }
+
+    @Test
+    void burstIsAdmittedThenRejectedUntilATokenRefills() {
+        var limiter = limiter(SLOTS);
+        for (int i = 0; i < 3; i++) {
+            limiter.check("jane", "10.0.0." + i);
+        }
+
+        assertThat(rejection(limiter, "jane", "10.0.0.9")).isEqualTo(Duration.ofSeconds(1));
+        assertThat(registry.counter("auth.login.throttled", "reason", "identifier").count()).isEqualTo(1);
+
+        advance(1_000);
+        assertThatCode(() -> limiter.check("jane", "10.0.0.9")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void ipBucketLimitsManyIdentifiersFromOneAddress() {
+        var limiter = limiter(SLOTS);
+        for (int i = 0; i < 3; i++) {
+            limiter.check("user" + i, "192.0.2.1");
+        }
+
+        assertThat(rejection(limiter, "user9", "192.0.2.1")).isEqualTo(Duration.ofSeconds(1));
+        assertThat(registry.counter("auth.login.throttled", "reason", "ip").count()).isEqualTo(1);
+        assertThatCode(() -> limiter.check("user9", "192.0.2.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void retryAfterRoundsUpToWholeSeconds() {
+        var limiter = limiter(SLOTS);
+        for (int i = 0; i < 3; i++) {
+            limiter.check("jane", "10.0.0." + i);
+        }
+        advance(1);
+
+        // 999 ms left until the next token
+        assertThat(rejection(limiter, "jane", "10.0.0.9")).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void backoffDoublesAfterTheFreeFailuresUpToTheMaximum() {
+        var limiter = limiter(SLOTS);
+        limiter.onFailure("jane");
+        limiter.onFailure("jane");
+        assertThatCode(() -> limiter.check("jane", "10.0.0.1")).doesNotThrowAnyException();
+
+        long[] expectedSeconds = {1, 2, 4, 8, 8, 8};
+        for (long expected : expectedSeconds) {
+            limiter.onFailure("jane");
+            assertThat(rejection(limiter, "jane", "10.0.0.1")).isEqualTo(Duration.ofSeconds(expected));
+            // Wait out the backoff (and refill the buckets) before the next failed attempt
+            advance(expected * 1_000 + 3_000);
+        }
+        assertThat(registry.counter("auth.login.throttled", "reason", "backoff").count()).isEqualTo(expectedSeconds.length);
+    }
+
+    @Test
+    void successClearsTheBackoff() {
+        var limiter = limiter(SLOTS);
+        for (int i = 0; i < 4; i++) {
+            limiter.onFailure("jane");
+        }
+        assertThat(rejection(limiter, "jane", "10.0.0.1")).isEqualTo(Duration.ofSeconds(2));
+
+        limiter.onSuccess("jane");
+        assertThatCode(() -> limiter.check("jane", "10.0.0.1")).doesNotThrowAnyException();
+
+        // Counting starts over: the next failures are free again
+        limiter.onFailure("jane");
+        limiter.onFailure("jane");
+        assertThatCode(() -> limiter.check("jane", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void failuresOlderThanTheWindowAreForgotten() {
+        var limiter = limiter(SLOTS);
+        for (int i = 0; i < 3; i++) {
+            limiter.onFailure("jane");
+        }
+        assertThat(rejection(limiter, "jane", "10.0.0.1")).isEqualTo(Duration.ofSeconds(1));
+
+        advance(FAILURE_WINDOW_MS + 1);
+        limiter.onFailure("jane");
+        // One failure inside the new window, so still free
+        assertThatCode(() -> limiter.check("jane", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void keysSharingOneSlotDoNotThrottleEachOther() {
+        // Few slots so a pair sharing exactly one of its two slots is easy to find
+        var limiter = limiter(8);
+        String[] pair = sharingOneSlot(limiter);
+        String busy = pair[0];
+        String quiet = pair[1];
+
+        for (int i = 0; i < 3; i++) {
+            limiter.check(busy, "10.0.0." + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            limiter.onFailure(busy);
+        }
+        rejection(limiter, busy, "10.0.0.9");
+
+        // Neither the drained bucket nor the backoff of the busy key spills over
+        for (int i = 0; i < 3; i++) {
+            int n = i;
+            assertThatCode(() -> limiter.check(quiet, "10.0.1." + n)).doesNotThrowAnyException();
+        }
+        // And the quiet key's success leaves the busy key's failures alone
+        limiter.onSuccess(quiet);
+        rejection(limiter, busy, "10.0.0.9");
+    }
+
+    @Test
+    void disabledLimiterAdmitsEverything() {
+        var limiter = new LoginRateLimiter(registry, false, SLOTS, 1, 1, 1, 1,
+                                           0, BACKOFF_BASE_MS, BACKOFF_MAX_MS, FAILURE_WINDOW_MS, clock::get, SEED);
+        limiter.onFailure("jane");
+        for (int i = 0; i < 10; i++) {
+            limiter.check("jane", "10.0.0.1");
+        }
+    }
+
+    private static String[] sharingOneSlot(LoginRateLimiter limiter) {
+        for (int i = 0; i < 1_000; i++) {
+            for (int j = i + 1; j < 1_000; j++) {
+                long a = limiter.hash("user" + i);
+                long b = limiter.hash("user" + j);
+                int a1 = limiter.first(a), a2 = limiter.second(a);
+                int b1 = limiter.first(b), b2 = limiter.second(b);
+                if (a1 == a2 || b1 == b2) continue;
+                boolean sharesOne = (a1 == b1 || a1 == b2 || a2 == b1 || a2 == b2)
+                        && !((a1 == b1 && a2 == b2) || (a1 == b2 && a2 == b1));
+                if (sharesOne) return new String[]{"user" + i, "user" + j};
+            }
+        }
+        throw new AssertionError("no pair of keys sharing exactly one slot");
+    }
+}
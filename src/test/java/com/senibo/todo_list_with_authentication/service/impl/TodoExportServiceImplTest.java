@@ -0,0 +1,62 @@
+package com.senibo.todo_list_with_authentication.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoFileFormat;
+import com.senibo.todo_list_with_authentication.exception.ServiceUnavailableException;
+import com.senibo.todo_list_with_authentication.repository.TodoRepository;
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+import com.senibo.todo_list_with_authentication.service.TodoExportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * An export holds its slot until its body has run or it is released, whichever comes first, and
+ * gives the slot back only once.
+ */
+class TodoExportServiceImplTest {
+
+    private final UserDetailsImpl principal =
+            new UserDetailsImpl(1L, "user1", "user1@example.com", "secret", List.of());
+
+    private TodoExportService service() {
+        var todos = mock(TodoRepository.class);
+        when(todos.streamResponsesByUserId(1L)).thenAnswer(i -> Stream.empty());
+        return new TodoExportServiceImpl(todos, new ObjectMapper(), mock(PlatformTransactionManager.class),
+                                         new SimpleMeterRegistry(), 1);
+    }
+
+    private TodoExportService.Export export(TodoExportService service) {
+        return service.export(principal, false, TodoFileFormat.NDJSON);
+    }
+
+    @Test
+    void releasingABodyThatNeverRanFreesItsSlot() {
+        var service = service();
+        var export = export(service);
+        assertThatThrownBy(() -> export(service)).isInstanceOf(ServiceUnavailableException.class);
+
+        export.release();
+
+        export(service);
+    }
+
+    @Test
+    void releasingAfterTheBodyRanDoesNotFreeASecondSlot() throws Exception {
+        var service = service();
+        var export = export(service);
+        export.writeTo(new ByteArrayOutputStream());
+        export.release();
+
+        export(service);
+        assertThatThrownBy(() -> export(service)).isInstanceOf(ServiceUnavailableException.class);
+    }
+}
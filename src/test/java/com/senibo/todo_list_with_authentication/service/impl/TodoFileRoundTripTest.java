@@ -0,0 +1,118 @@
+package com.senibo.todo_list_with_authentication.service.impl;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.senibo.todo_list_with_authentication.dto.todo.TodoFileFormat;
+import com.senibo.todo_list_with_authentication.model.Priority;
+import com.senibo.todo_list_with_authentication.repository.TodoRepository;
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+import com.senibo.todo_list_with_authentication.service.cache.TodoListCache;
+import com.senibo.todo_list_with_authentication.support.PostgresTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Exporting one user's todos and importing the file as another user gives back the same todos,
+ * including titles the CSV export neutralises against spreadsheet formulas.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TodoFileRoundTripTest extends PostgresTest {
+
+    private record Todo(String title, String description, boolean completed, LocalDate dueDate, Priority priority) {}
+
+    private static final List<Todo> TODOS = List.of(
+            new Todo("=SUM(A1:A3)", "formula title", false, null, Priority.NORMAL),
+            new Todo("+1 for this", "-looks negative", true, LocalDate.of(2030, 1, 15), Priority.HIGH),
+            new Todo("@mention someone", "plain", false, LocalDate.of(2030, 2, 1), Priority.LOW),
+            new Todo("\tTabbed title", "\r\nstarts with a line break", true, null, Priority.URGENT),
+            new Todo("'=already quoted", "'plain quote", false, null, Priority.NORMAL),
+            new Todo("Comma, \"quotes\"", "line one\nline two", true, LocalDate.of(2031, 12, 31), Priority.HIGH));
+
+    private final ObjectMapper json = JsonMapper.builder()
+                                                .findAndAddModules()
+                                                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                                                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                                                .build();
+
+    @Autowired
+    private TodoRepository todos;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private TodoExportServiceImpl export;
+    private TodoImportServiceImpl importer;
+
+    @BeforeEach
+    void setUp() {
+        var registry = new SimpleMeterRegistry();
+        export = new TodoExportServiceImpl(todos, json, txManager, registry, 4);
+        importer = new TodoImportServiceImpl(jdbc, txManager, json, Validation.buildDefaultValidatorFactory().getValidator(),
+                                             mock(TodoListCache.class), mock(ApplicationEventPublisher.class), registry,
+                                             1000, 100_000, 1000, 2);
+    }
+
+    private static UserDetailsImpl principal(long userId) {
+        return new UserDetailsImpl(userId, "user" + userId, "user" + userId + "@example.com", "secret", List.of());
+    }
+
+    private List<Todo> stored(long userId) {
+        return todos.findResponsesByUserIdBefore(userId, Long.MAX_VALUE, Limit.of(100))
+                    .stream()
+                    .map(t -> new Todo(t.title(), t.description(), t.completed(), t.dueDate(), t.priority()))
+                    .toList();
+    }
+
+    @ParameterizedTest
+    @EnumSource(TodoFileFormat.class)
+    void exportedFileImportsAsTheSameTodos(TodoFileFormat format) throws Exception {
+        long source = insertUser();
+        long target = insertUser();
+        for (Todo t : TODOS) {
+            jdbc.update("insert into todos (title, description, completed, due_date, priority, user_id) values (?, ?, ?, ?, ?, ?)",
+                        t.title(), t.description(), t.completed(), t.dueDate(), t.priority().ordinal(), source);
+        }
+
+        var file = new ByteArrayOutputStream();
+        export.export(principal(source), false, format).writeTo(file);
+        var result = importer.importTodos(new ByteArrayInputStream(file.toByteArray()), format, principal(target));
+
+        assertThat(result.errors()).isEmpty();
+        assertThat(result.imported()).isEqualTo(TODOS.size());
+        assertThat(stored(target)).containsExactlyInAnyOrderElementsOf(TODOS);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TodoFileFormat.class)
+    void exportNeutralisesFormulasOnlyInCsv(TodoFileFormat format) throws Exception {
+        long source = insertUser();
+        jdbc.update("insert into todos (title, description, user_id) values ('=HYPERLINK(1)', 'desc', ?)", source);
+
+        var file = new ByteArrayOutputStream();
+        export.export(principal(source), false, format).writeTo(file);
+
+        String expected = format == TodoFileFormat.CSV ? "'=HYPERLINK(1)" : "\"=HYPERLINK(1)\"";
+        assertThat(file.toString(StandardCharsets.UTF_8)).contains(expected);
+    }
+}
@@ -0,0 +1,71 @@
+package com.senibo.todo_list_with_authentication.service.impl;
+
+import com.senibo.todo_list_with_authentication.dto.todo.CreateTodoRequest;
+import com.senibo.todo_list_with_authentication.repository.TodoRepository;
+import com.senibo.todo_list_with_authentication.repository.UserRepository;
+import com.senibo.todo_list_with_authentication.security.services.UserDetailsImpl;
+import com.senibo.todo_list_with_authentication.service.cache.TodoListCache;
+import com.senibo.todo_list_with_authentication.support.PostgresTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * createTodo sets the owner through a reference, so a missing user only shows up as the FK
+ * violation on insert; other violations must not be reported as a missing user.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TodoServiceCreateTest extends PostgresTest {
+
+    @Autowired
+    private TodoRepository todos;
+
+    @Autowired
+    private UserRepository users;
+
+    private TodoServiceImpl service;
+    private long owner;
+
+    @BeforeEach
+    void setUp() {
+        service = new TodoServiceImpl(todos, users, mock(TodoListCache.class), mock(ApplicationEventPublisher.class));
+        owner = insertUser();
+    }
+
+    private static UserDetailsImpl principal(long userId) {
+        return new UserDetailsImpl(userId, "user" + userId, "user" + userId + "@example.com", "secret", List.of());
+    }
+
+    @Test
+    void createsForAnExistingUser() {
+        var created = service.createTodo(new CreateTodoRequest("Buy milk", "2 liters", null, null), principal(owner));
+
+        assertThat(created.userId()).isEqualTo(owner);
+    }
+
+    @Test
+    void missingUserIsReportedAsSuch() {
+        assertThatThrownBy(() -> service.createTodo(new CreateTodoRequest("Buy milk", "2 liters", null, null),
+                                                    principal(owner + 1_000_000)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("User not found");
+    }
+
+    @Test
+    void otherViolationsAreRethrown() {
+        // title is NOT NULL; validation normally stops this before the service
+        assertThatThrownBy(() -> service.createTodo(new CreateTodoRequest(null, "2 liters", null, null), principal(owner)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
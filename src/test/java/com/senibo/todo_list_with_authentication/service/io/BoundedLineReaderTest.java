@@ -0,0 +1,60 @@
+package com.senibo.todo_list_with_authentication.service.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedLineReaderTest {
+
+    @Test
+    void splitsOnLfAndDropsTheCrOfCrlf() throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(new StringReader("one\r\ntwo\nthree"), 100);
+
+        assertThat(lines.next()).isEqualTo("one");
+        assertThat(lines.next()).isEqualTo("two");
+        assertThat(lines.next()).isEqualTo("three");
+        assertThat(lines.line()).isEqualTo(3);
+        assertThat(lines.next()).isNull();
+    }
+
+    @Test
+    void emptyLinesAreCounted() throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(new StringReader("a\n\r\n\nb\n"), 100);
+
+        assertThat(lines.next()).isEqualTo("a");
+        assertThat(lines.next()).isEmpty();
+        assertThat(lines.next()).isEmpty();
+        assertThat(lines.next()).isEqualTo("b");
+        assertThat(lines.line()).isEqualTo(4);
+        assertThat(lines.next()).isNull();
+    }
+
+    @Test
+    void byteOrderMarkIsLeftToTheCaller() throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(new StringReader("\uFEFF{\"title\":\"x\"}\n"), 100);
+
+        assertThat(lines.next()).isEqualTo("\uFEFF{\"title\":\"x\"}");
+    }
+
+    @Test
+    void overlongLineIsCutAndFlaggedAndTheNextLineIsIntact() throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(new StringReader("x".repeat(20) + "\r\nshort\n"), 8);
+
+        assertThat(lines.next()).isEqualTo("x".repeat(8));
+        assertThat(lines.truncated()).isTrue();
+        assertThat(lines.next()).isEqualTo("short");
+        assertThat(lines.truncated()).isFalse();
+        assertThat(lines.line()).isEqualTo(2);
+    }
+
+    @Test
+    void lineAtTheLimitIsNotTruncated() throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(new StringReader("x".repeat(8) + "\r\n"), 8);
+
+        assertThat(lines.next()).isEqualTo("x".repeat(8));
+        assertThat(lines.truncated()).isFalse();
+    }
+}
@@ -0,0 +1,94 @@
+package com.senibo.todo_list_with_authentication.service.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    private static List<List<String>> readAll(String csv, int maxFieldLength) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(csv), maxFieldLength);
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> record; (record = reader.next()) != null; ) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    @Test
+    void plainFieldsAndEmptyOnes() throws IOException {
+        assertThat(readAll("a,b,c\n,x,\n", 100)).containsExactly(List.of("a", "b", "c"), List.of("", "x", ""));
+    }
+
+    @Test
+    void crlfAndLfLineEndingsBothEndARecord() throws IOException {
+        assertThat(readAll("a,b\r\nc,d\ne,f\r\n", 100))
+                .containsExactly(List.of("a", "b"), List.of("c", "d"), List.of("e", "f"));
+    }
+
+    @Test
+    void bareCarriageReturnEndsARecord() throws IOException {
+        assertThat(readAll("a\rb\r", 100)).containsExactly(List.of("a"), List.of("b"));
+    }
+
+    @Test
+    void lastRecordNeedsNoLineBreak() throws IOException {
+        assertThat(readAll("a,b\r\nc,d", 100)).containsExactly(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndDoubledQuotes() throws IOException {
+        assertThat(readAll("\"one, two\",\"say \"\"hi\"\"\",\"\"\n", 100))
+                .containsExactly(List.of("one, two", "say \"hi\"", ""));
+    }
+
+    @Test
+    void quotedNewlinesStayInTheFieldAndRecordLineIsWhereItStarted() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("title\n\"line one\r\nline two\nline three\",x\nnext\n"), 100);
+
+        assertThat(reader.next()).containsExactly("title");
+        assertThat(reader.recordLine()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("line one\r\nline two\nline three", "x");
+        assertThat(reader.recordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("next");
+        assertThat(reader.recordLine()).isEqualTo(5);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void quoteInsideAnUnquotedFieldIsLiteral() throws IOException {
+        assertThat(readAll("5\" nails,x\n", 100)).containsExactly(List.of("5\" nails", "x"));
+    }
+
+    @Test
+    void byteOrderMarkIsLeftToTheCaller() throws IOException {
+        // The importer strips it from the first header name; the reader passes it through untouched
+        assertThat(readAll("\uFEFFtitle,description\n", 100)).containsExactly(List.of("\uFEFFtitle", "description"));
+    }
+
+    @Test
+    void unterminatedQuoteAtEndOfInputKeepsWhatWasRead() throws IOException {
+        assertThat(readAll("a,\"open\nstill open", 100)).containsExactly(List.of("a", "open\nstill open"));
+    }
+
+    @Test
+    void unterminatedQuoteStopsAtTheFieldLimit() {
+        String csv = "title\n\"never closed," + "x".repeat(50) + "\nmore,rows\n";
+
+        assertThatThrownBy(() -> readAll(csv, 32))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Field longer than 32 characters at line 2");
+    }
+
+    @Test
+    void fieldAtTheLimitIsAccepted() throws IOException {
+        assertThat(readAll("x".repeat(32) + ",\"" + "y".repeat(32) + "\"\n", 32))
+                .containsExactly(List.of("x".repeat(32), "y".repeat(32)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.senibo.todo_list_with_authentication.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+/**
+ * Base class for tests that need the real database: native SQL, the todos triggers and the Flyway
+ * migrations themselves. One embedded Postgres is started per test JVM; Spring's context cache
+ * shares the migrated schema between test classes with the same configuration.
+ * <p>
+ * {@code @DataJpaTest} subclasses also need {@code @AutoConfigureTestDatabase(replace = NONE)}
+ * so the embedded server is not swapped for H2.
+ */
+public abstract class PostgresTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @Autowired
+    protected JdbcTemplate jdbc;
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // The JVM is exiting anyway
+                }
+            }));
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the embedded Postgres", e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    /**
+     * Inserts a user with a fresh name straight into the table and returns its id. Committed only
+     * if the test's transaction is, so tests running outside one delete the user themselves.
+     */
+    protected long insertUser() {
+        String name = "user_" + UUID.randomUUID().toString().substring(0, 8);
+        return jdbc.queryForObject("insert into users (username, email, password, role) " +
+                                   "values (?, ?, 'secret', 'ROLE_USER') returning id",
+                                   Long.class, name, name + "@example.com");
+    }
+}